@@ -61,8 +61,11 @@ public class UserActionListener implements SaTokenListener {
         TenantHelper.dynamic(tenantId, () -> {
             if(tokenConfig.getTimeout() == -1) {
                 RedisUtils.setCacheObject(CacheConstants.ONLINE_TOKEN_KEY + tokenValue, dto);
+                RedisUtils.addCacheScoredSet(CacheConstants.ONLINE_TOKEN_INDEX_KEY, tokenValue, Long.MAX_VALUE);
             } else {
                 RedisUtils.setCacheObject(CacheConstants.ONLINE_TOKEN_KEY + tokenValue, dto, Duration.ofSeconds(tokenConfig.getTimeout()));
+                RedisUtils.addCacheScoredSet(CacheConstants.ONLINE_TOKEN_INDEX_KEY, tokenValue,
+                    System.currentTimeMillis() + tokenConfig.getTimeout() * 1000);
             }
         });
         // 记录登录日志
@@ -86,6 +89,7 @@ public class UserActionListener implements SaTokenListener {
         String tenantId = Convert.toStr(StpUtil.getExtra(tokenValue, LoginHelper.TENANT_KEY));
         TenantHelper.dynamic(tenantId, () -> {
             RedisUtils.deleteObject(CacheConstants.ONLINE_TOKEN_KEY + tokenValue);
+            RedisUtils.delCacheScoredSet(CacheConstants.ONLINE_TOKEN_INDEX_KEY, tokenValue);
         });
         log.info("user doLogout, userId:{}, token:{}", loginId, tokenValue);
     }
@@ -98,6 +102,7 @@ public class UserActionListener implements SaTokenListener {
         String tenantId = Convert.toStr(StpUtil.getExtra(tokenValue, LoginHelper.TENANT_KEY));
         TenantHelper.dynamic(tenantId, () -> {
             RedisUtils.deleteObject(CacheConstants.ONLINE_TOKEN_KEY + tokenValue);
+            RedisUtils.delCacheScoredSet(CacheConstants.ONLINE_TOKEN_INDEX_KEY, tokenValue);
         });
         log.info("user doKickout, userId:{}, token:{}", loginId, tokenValue);
     }
@@ -110,6 +115,7 @@ public class UserActionListener implements SaTokenListener {
         String tenantId = Convert.toStr(StpUtil.getExtra(tokenValue, LoginHelper.TENANT_KEY));
         TenantHelper.dynamic(tenantId, () -> {
             RedisUtils.deleteObject(CacheConstants.ONLINE_TOKEN_KEY + tokenValue);
+            RedisUtils.delCacheScoredSet(CacheConstants.ONLINE_TOKEN_INDEX_KEY, tokenValue);
         });
         log.info("user doReplaced, userId:{}, token:{}", loginId, tokenValue);
     }
@@ -0,0 +1,122 @@
+package org.dromara.test;
+
+import org.dromara.common.security.handler.RouteMatcher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+/**
+ * 登录校验路由匹配单元测试
+ *
+ * @author Lion Li
+ */
+@Tag("dev")
+@Tag("prod")
+@Tag("local")
+@DisplayName("登录校验路由匹配单元测试")
+public class RouteMatcherUnitTest {
+
+    private static RouteMatcher matcher(String... routes) {
+        RouteMatcher matcher = new RouteMatcher();
+        for (String route : routes) {
+            matcher.addRoute(route);
+        }
+        return matcher;
+    }
+
+    @DisplayName("测试 普通路径")
+    @Test
+    public void testLiteral() {
+        RouteMatcher matcher = matcher("/system/user/list");
+        Assertions.assertTrue(matcher.matches("/system/user/list"));
+        Assertions.assertTrue(matcher.matches("//system//user/list/"));
+        Assertions.assertFalse(matcher.matches("/system/user"));
+        Assertions.assertFalse(matcher.matches("/system/user/list/1"));
+        Assertions.assertFalse(matcher.matches("/system/role/list"));
+    }
+
+    @DisplayName("测试 路径变量")
+    @Test
+    public void testVariable() {
+        RouteMatcher matcher = matcher("/system/user/{userId}", "/system/user/{userId:\\d+}/role", "/system/dept/{deptId:[0-9]{1,3}}/child");
+        Assertions.assertTrue(matcher.matches("/system/user/1"));
+        Assertions.assertFalse(matcher.matches("/system/user"));
+        Assertions.assertFalse(matcher.matches("/system/user/1/post"));
+        // 正则约束按 * 处理
+        Assertions.assertTrue(matcher.matches("/system/user/1/role"));
+        Assertions.assertTrue(matcher.matches("/system/user/abc/role"));
+        Assertions.assertTrue(matcher.matches("/system/dept/1000/child"));
+        Assertions.assertFalse(matcher.matches("/system/dept/child"));
+    }
+
+    @DisplayName("测试 多段通配")
+    @Test
+    public void testMultiSegment() {
+        RouteMatcher matcher = matcher("/resource/**", "/files/{*path}", "/a/**/c");
+        Assertions.assertTrue(matcher.matches("/resource"));
+        Assertions.assertTrue(matcher.matches("/resource/oss/list"));
+        Assertions.assertTrue(matcher.matches("/files/2024/01/a.png"));
+        Assertions.assertTrue(matcher.matches("/a/c"));
+        Assertions.assertTrue(matcher.matches("/a/b/c"));
+        Assertions.assertTrue(matcher.matches("/a/b/c/b/c"));
+        Assertions.assertFalse(matcher.matches("/a/b"));
+        Assertions.assertFalse(matcher.matches("/a/b/c/d"));
+        Assertions.assertFalse(matcher.matches("/other"));
+    }
+
+    @DisplayName("测试 混合路径段")
+    @Test
+    public void testMixedSegment() {
+        RouteMatcher matcher = matcher("/file/{name}.{ext}", "/img/*.png", "/v?/list");
+        Assertions.assertTrue(matcher.matches("/file/a.txt"));
+        Assertions.assertFalse(matcher.matches("/file/atxt"));
+        Assertions.assertTrue(matcher.matches("/img/logo.png"));
+        Assertions.assertFalse(matcher.matches("/img/logo.jpg"));
+        Assertions.assertTrue(matcher.matches("/v1/list"));
+        Assertions.assertFalse(matcher.matches("/v10/list"));
+    }
+
+    @DisplayName("测试 同一层级的多种路径段")
+    @Test
+    public void testOverlap() {
+        RouteMatcher matcher = matcher("/system/user/list", "/system/*/export", "/system/{name}.json");
+        Assertions.assertTrue(matcher.matches("/system/user/list"));
+        Assertions.assertTrue(matcher.matches("/system/user/export"));
+        Assertions.assertTrue(matcher.matches("/system/role/export"));
+        Assertions.assertTrue(matcher.matches("/system/user.json"));
+        Assertions.assertFalse(matcher.matches("/system/role/list"));
+        Assertions.assertFalse(matcher.matches("/system/user"));
+    }
+
+    @DisplayName("测试 排除路径(拦截器注册时排除)")
+    @Test
+    public void testExclude() {
+        // 与 application.yml 中的 security.excludes 一致
+        String[] excludes = {"/*.html", "/**/*.html", "/**/*.css", "/**/*.js", "/favicon.ico", "/error",
+            "/*/api-docs", "/*/api-docs/**", "/warm-flow-ui/token-name"};
+        MappedInterceptor interceptor = new MappedInterceptor(new String[]{"/**"}, excludes, new HandlerInterceptor() {
+        });
+        Assertions.assertTrue(intercepted(interceptor, "/system/user/list"));
+        Assertions.assertTrue(intercepted(interceptor, "/warm-flow-ui/config"));
+        Assertions.assertFalse(intercepted(interceptor, "/index.html"));
+        Assertions.assertFalse(intercepted(interceptor, "/static/css/app.css"));
+        Assertions.assertFalse(intercepted(interceptor, "/static/js/app.js"));
+        Assertions.assertFalse(intercepted(interceptor, "/favicon.ico"));
+        Assertions.assertFalse(intercepted(interceptor, "/error"));
+        Assertions.assertFalse(intercepted(interceptor, "/v3/api-docs"));
+        Assertions.assertFalse(intercepted(interceptor, "/v3/api-docs/swagger-config"));
+        Assertions.assertFalse(intercepted(interceptor, "/warm-flow-ui/token-name"));
+    }
+
+    private static boolean intercepted(MappedInterceptor interceptor, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        ServletRequestPathUtils.parseAndCache(request);
+        return interceptor.matches(request);
+    }
+
+}
@@ -12,6 +12,16 @@ public interface CacheConstants {
      */
     String ONLINE_TOKEN_KEY = "online_tokens:";
 
+    /**
+     * 在线用户索引 redis key (有序集合 分值为过期时间戳)
+     */
+    String ONLINE_TOKEN_INDEX_KEY = "online_tokens_index";
+
+    /**
+     * 在线用户索引已构建标记 redis key (索引为空时有序集合会被 redis 删除 不能以其是否存在判断)
+     */
+    String ONLINE_TOKEN_INDEX_BUILT_KEY = "online_tokens_index_built";
+
     /**
      * 参数管理 cache key
      */
@@ -65,11 +65,6 @@ public interface CacheNames {
      */
     String SYS_ROLE_CUSTOM = "sys_role_custom#30d";
 
-    /**
-     * 部门及以下权限
-     */
-    String SYS_DEPT_AND_CHILD = "sys_dept_and_child#30d";
-
     /**
      * OSS配置
      */
@@ -3,6 +3,7 @@ package org.dromara.common.core.service;
 import org.dromara.common.core.domain.dto.DeptDTO;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 通用 部门服务
@@ -19,6 +20,14 @@ public interface DeptService {
      */
     String selectDeptNameByIds(String deptIds);
 
+    /**
+     * 通过部门ID批量查询部门名称
+     *
+     * @param deptIds 部门ID列表
+     * @return 部门ID与部门名称的映射
+     */
+    Map<Long, String> selectDeptNamesByIds(List<Long> deptIds);
+
     /**
      * 根据部门ID查询部门负责人
      *
@@ -3,6 +3,7 @@ package org.dromara.common.core.service;
 import org.dromara.common.core.domain.dto.OssDTO;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 通用 OSS服务
@@ -19,6 +20,14 @@ public interface OssService {
      */
     String selectUrlByIds(String ossIds);
 
+    /**
+     * 通过ossId批量查询对应的url
+     *
+     * @param ossIds ossId列表
+     * @return ossId与url的映射
+     */
+    Map<Long, String> selectUrlsByIds(List<Long> ossIds);
+
     /**
      * 通过ossId查询列表
      *
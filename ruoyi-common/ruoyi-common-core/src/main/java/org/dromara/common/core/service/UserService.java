@@ -3,6 +3,7 @@ package org.dromara.common.core.service;
 import org.dromara.common.core.domain.dto.UserDTO;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 通用 用户服务
@@ -35,6 +36,22 @@ public interface UserService {
      */
     String selectNicknameByIds(String userIds);
 
+    /**
+     * 通过用户ID批量查询用户账户
+     *
+     * @param userIds 用户ID列表
+     * @return 用户ID与用户账户的映射
+     */
+    Map<Long, String> selectUserNamesByIds(List<Long> userIds);
+
+    /**
+     * 通过用户ID批量查询用户名称
+     *
+     * @param userIds 用户ID列表
+     * @return 用户ID与用户名称的映射
+     */
+    Map<Long, String> selectNicknamesByIds(List<Long> userIds);
+
     /**
      * 通过用户ID查询用户手机号
      *
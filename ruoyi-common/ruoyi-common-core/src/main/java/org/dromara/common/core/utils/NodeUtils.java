@@ -0,0 +1,20 @@
+package org.dromara.common.core.utils;
+
+import cn.hutool.core.util.IdUtil;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 集群节点工具类
+ *
+ * @author Lion Li
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class NodeUtils {
+
+    /**
+     * 当前节点id(进程启动时生成 用于区分集群内的节点)
+     */
+    public static final String NODE_ID = IdUtil.fastSimpleUUID();
+
+}
@@ -9,7 +9,11 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.dromara.common.core.utils.reflect.ReflectUtils;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -60,6 +64,50 @@ public class TreeBuildUtils extends TreeUtil {
         return TreeUtil.build(list, parentId, DEFAULT_CONFIG, nodeParser);
     }
 
+    /**
+     * 构建多根节点的树形结构(一次遍历 O(n))
+     * <p>
+     * 父节点不在列表中的节点作为顶级节点 顶级节点按列表顺序返回 子节点按权重排序
+     *
+     * @param <T>         输入节点的类型
+     * @param <K>         节点ID的类型
+     * @param list        节点列表
+     * @param getId       获取节点ID的函数
+     * @param getParentId 获取父节点ID的函数
+     * @param nodeParser  解析器，用于将输入节点转换为树节点
+     * @return 构建好的树形结构列表
+     */
+    public static <T, K> List<Tree<K>> buildMultiRoot(List<T> list, Function<T, K> getId, Function<T, K> getParentId,
+                                                      NodeParser<T, K> nodeParser) {
+        if (CollUtil.isEmpty(list)) {
+            return CollUtil.newArrayList();
+        }
+        Map<K, Tree<K>> treeMap = new HashMap<>(list.size() * 4 / 3 + 1);
+        List<Tree<K>> nodes = new ArrayList<>(list.size());
+        for (T item : list) {
+            Tree<K> tree = new Tree<>(DEFAULT_CONFIG);
+            nodeParser.parse(item, tree);
+            treeMap.put(getId.apply(item), tree);
+            nodes.add(tree);
+        }
+        List<Tree<K>> roots = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            if (!treeMap.containsKey(getParentId.apply(list.get(i)))) {
+                roots.add(nodes.get(i));
+            }
+        }
+        // 按权重稳定排序后依次挂到父节点下 保证子节点顺序
+        List<Tree<K>> sorted = new ArrayList<>(nodes);
+        sorted.sort(Tree::compareTo);
+        for (Tree<K> node : sorted) {
+            Tree<K> parent = treeMap.get(node.getParentId());
+            if (parent != null && parent != node) {
+                parent.addChildren(node);
+            }
+        }
+        return roots;
+    }
+
     /**
      * 获取节点列表中所有节点的叶子节点
      *
@@ -0,0 +1,57 @@
+package org.dromara.common.encrypt.core;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 加解密实例池
+ * <p>
+ * hutool 的加解密实例内部持有 Cipher 并加锁 单实例在并发下会串行
+ * 每次新建又需要重新初始化 Cipher 与秘钥 开销较大 这里按需创建并复用
+ *
+ * @param <T> 加解密实例类型
+ * @author 老马
+ */
+public class CryptoPool<T> {
+
+    /**
+     * 池中保留的最大空闲实例数
+     */
+    private static final int MAX_IDLE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final Supplier<T> factory;
+    private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    public CryptoPool(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * 借出实例执行操作后归还
+     *
+     * @param action 加解密操作
+     * @return 操作结果
+     */
+    public <R> R execute(Function<T, R> action) {
+        T instance = idle.poll();
+        if (instance == null) {
+            instance = factory.get();
+        } else {
+            idleCount.decrementAndGet();
+        }
+        try {
+            return action.apply(instance);
+        } finally {
+            if (idleCount.incrementAndGet() <= MAX_IDLE) {
+                idle.offer(instance);
+            } else {
+                idleCount.decrementAndGet();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package org.dromara.common.encrypt.core;
+
+import lombok.Getter;
+
+import java.lang.reflect.Field;
+
+/**
+ * 加密字段元数据 启动时解析字段注解并绑定加密执行者 加解密时不再反射读取注解
+ *
+ * @author 老马
+ */
+@Getter
+public class EncryptFieldMeta {
+
+    /**
+     * 加密字段
+     */
+    private final Field field;
+
+    /**
+     * 合并默认配置后的加密上下文
+     */
+    private final EncryptContext context;
+
+    /**
+     * 加密执行者 初始化失败时为空(使用时再次创建 以便抛出配置错误)
+     */
+    private final IEncryptor encryptor;
+
+    public EncryptFieldMeta(Field field, EncryptContext context, IEncryptor encryptor) {
+        this.field = field;
+        this.context = context;
+        this.encryptor = encryptor;
+    }
+
+}
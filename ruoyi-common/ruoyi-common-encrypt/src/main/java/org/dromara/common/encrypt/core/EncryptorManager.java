@@ -8,6 +8,9 @@ import org.apache.ibatis.io.Resources;
 import org.dromara.common.core.utils.ObjectUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.encrypt.annotation.EncryptField;
+import org.dromara.common.encrypt.enumd.AlgorithmType;
+import org.dromara.common.encrypt.enumd.EncodeType;
+import org.dromara.common.encrypt.properties.EncryptorProperties;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
@@ -17,10 +20,7 @@ import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.util.ClassUtils;
 
 import java.lang.reflect.Field;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -35,21 +35,33 @@ import java.util.stream.Collectors;
 public class EncryptorManager {
 
     /**
-     * 缓存加密器
+     * 缓存加密器 key为加密上下文
      */
-    Map<Integer, IEncryptor> encryptorMap = new ConcurrentHashMap<>();
+    Map<EncryptContext, IEncryptor> encryptorMap = new ConcurrentHashMap<>();
 
     /**
      * 类加密字段缓存
      */
     Map<Class<?>, Set<Field>> fieldCache = new ConcurrentHashMap<>();
 
+    /**
+     * 类加密字段元数据缓存(已合并默认配置并绑定加密执行者)
+     */
+    Map<Class<?>, List<EncryptFieldMeta>> fieldMetaCache = new ConcurrentHashMap<>();
+
+    /**
+     * 默认加密配置
+     */
+    private EncryptorProperties defaultProperties;
+
     /**
      * 构造方法传入类加密字段缓存
      *
      * @param typeAliasesPackage 实体类包
+     * @param defaultProperties  默认加密配置
      */
-    public EncryptorManager(String typeAliasesPackage) {
+    public EncryptorManager(String typeAliasesPackage, EncryptorProperties defaultProperties) {
+        this.defaultProperties = defaultProperties;
         scanEncryptClasses(typeAliasesPackage);
     }
 
@@ -61,19 +73,25 @@ public class EncryptorManager {
         return ObjectUtils.notNullGetter(fieldCache, f -> f.get(sourceClazz));
     }
 
+    /**
+     * 获取类加密字段元数据
+     */
+    public List<EncryptFieldMeta> getFieldMetas(Class<?> sourceClazz) {
+        return fieldMetaCache.get(sourceClazz);
+    }
+
     /**
      * 注册加密执行者到缓存
      *
      * @param encryptContext 加密执行者需要的相关配置参数
      */
     public IEncryptor registAndGetEncryptor(EncryptContext encryptContext) {
-        int key = encryptContext.hashCode();
-        if (encryptorMap.containsKey(key)) {
-            return encryptorMap.get(key);
+        IEncryptor encryptor = encryptorMap.get(encryptContext);
+        if (encryptor != null) {
+            return encryptor;
         }
-        IEncryptor encryptor = ReflectUtil.newInstance(encryptContext.getAlgorithm().getClazz(), encryptContext);
-        encryptorMap.put(key, encryptor);
-        return encryptor;
+        return encryptorMap.computeIfAbsent(encryptContext,
+            k -> ReflectUtil.newInstance(k.getAlgorithm().getClazz(), k));
     }
 
     /**
@@ -82,7 +100,29 @@ public class EncryptorManager {
      * @param encryptContext 加密执行者需要的相关配置参数
      */
     public void removeEncryptor(EncryptContext encryptContext) {
-        this.encryptorMap.remove(encryptContext.hashCode());
+        this.encryptorMap.remove(encryptContext);
+    }
+
+    /**
+     * 按字段元数据加密
+     *
+     * @param value 待加密的值
+     * @param meta  加密字段元数据
+     */
+    public String encrypt(String value, EncryptFieldMeta meta) {
+        IEncryptor encryptor = meta.getEncryptor() != null ? meta.getEncryptor() : registAndGetEncryptor(meta.getContext());
+        return encryptor.encrypt(value, meta.getContext().getEncode());
+    }
+
+    /**
+     * 按字段元数据解密
+     *
+     * @param value 待解密的值
+     * @param meta  加密字段元数据
+     */
+    public String decrypt(String value, EncryptFieldMeta meta) {
+        IEncryptor encryptor = meta.getEncryptor() != null ? meta.getEncryptor() : registAndGetEncryptor(meta.getContext());
+        return encryptor.decrypt(value);
     }
 
     /**
@@ -125,6 +165,7 @@ public class EncryptorManager {
                     Set<Field> encryptFieldSet = getEncryptFieldSetFromClazz(clazz);
                     if (CollUtil.isNotEmpty(encryptFieldSet)) {
                         fieldCache.put(clazz, encryptFieldSet);
+                        fieldMetaCache.put(clazz, buildFieldMetas(encryptFieldSet));
                     }
                 }
             }
@@ -133,6 +174,38 @@ public class EncryptorManager {
         }
     }
 
+    /**
+     * 解析字段注解 合并默认配置并创建加密执行者
+     */
+    private List<EncryptFieldMeta> buildFieldMetas(Set<Field> fields) {
+        List<EncryptFieldMeta> metas = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            EncryptContext encryptContext = buildContext(field.getAnnotation(EncryptField.class));
+            IEncryptor encryptor = null;
+            try {
+                encryptor = registAndGetEncryptor(encryptContext);
+            } catch (Exception e) {
+                // 配置错误时在使用时再次创建并抛出异常 避免字段被静默跳过
+                log.error("初始化加密字段出错 field: {}, error: {}", field, e.getMessage());
+            }
+            metas.add(new EncryptFieldMeta(field, encryptContext, encryptor));
+        }
+        return metas;
+    }
+
+    /**
+     * 根据字段注解与默认配置构建加密上下文
+     */
+    private EncryptContext buildContext(EncryptField encryptField) {
+        EncryptContext encryptContext = new EncryptContext();
+        encryptContext.setAlgorithm(encryptField.algorithm() == AlgorithmType.DEFAULT ? defaultProperties.getAlgorithm() : encryptField.algorithm());
+        encryptContext.setEncode(encryptField.encode() == EncodeType.DEFAULT ? defaultProperties.getEncode() : encryptField.encode());
+        encryptContext.setPassword(StringUtils.isBlank(encryptField.password()) ? defaultProperties.getPassword() : encryptField.password());
+        encryptContext.setPrivateKey(StringUtils.isBlank(encryptField.privateKey()) ? defaultProperties.getPrivateKey() : encryptField.privateKey());
+        encryptContext.setPublicKey(StringUtils.isBlank(encryptField.publicKey()) ? defaultProperties.getPublicKey() : encryptField.publicKey());
+        return encryptContext;
+    }
+
     /**
      * 获得一个类的加密字段集合
      */
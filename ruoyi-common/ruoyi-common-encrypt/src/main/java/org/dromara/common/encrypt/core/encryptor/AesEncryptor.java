@@ -1,23 +1,41 @@
 package org.dromara.common.encrypt.core.encryptor;
 
+import cn.hutool.core.util.ArrayUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.SecureUtil;
+import cn.hutool.crypto.symmetric.AES;
+import org.dromara.common.encrypt.core.CryptoPool;
 import org.dromara.common.encrypt.core.EncryptContext;
 import org.dromara.common.encrypt.enumd.AlgorithmType;
 import org.dromara.common.encrypt.enumd.EncodeType;
-import org.dromara.common.encrypt.utils.EncryptUtils;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * AES算法实现
+ * <p>
+ * 秘钥在创建时校验一次 Cipher 实例池化复用
  *
  * @author 老马
  * @version 4.6.0
  */
 public class AesEncryptor extends AbstractEncryptor {
 
-    private final EncryptContext context;
+    private final CryptoPool<AES> pool;
 
     public AesEncryptor(EncryptContext context) {
         super(context);
-        this.context = context;
+        String password = context.getPassword();
+        if (StrUtil.isBlank(password)) {
+            throw new IllegalArgumentException("AES需要传入秘钥信息");
+        }
+        // aes算法的秘钥要求是16位、24位、32位
+        int[] array = {16, 24, 32};
+        if (!ArrayUtil.contains(array, password.length())) {
+            throw new IllegalArgumentException("AES秘钥长度要求为16位、24位、32位");
+        }
+        byte[] key = password.getBytes(StandardCharsets.UTF_8);
+        this.pool = new CryptoPool<>(() -> SecureUtil.aes(key));
     }
 
     /**
@@ -37,9 +55,9 @@ public class AesEncryptor extends AbstractEncryptor {
     @Override
     public String encrypt(String value, EncodeType encodeType) {
         if (encodeType == EncodeType.HEX) {
-            return EncryptUtils.encryptByAesHex(value, context.getPassword());
+            return pool.execute(aes -> aes.encryptHex(value, StandardCharsets.UTF_8));
         } else {
-            return EncryptUtils.encryptByAes(value, context.getPassword());
+            return pool.execute(aes -> aes.encryptBase64(value, StandardCharsets.UTF_8));
         }
     }
 
@@ -50,6 +68,6 @@ public class AesEncryptor extends AbstractEncryptor {
      */
     @Override
     public String decrypt(String value) {
-        return EncryptUtils.decryptByAes(value, context.getPassword());
+        return pool.execute(aes -> aes.decryptStr(value, StandardCharsets.UTF_8));
     }
 }
@@ -1,21 +1,28 @@
 package org.dromara.common.encrypt.core.encryptor;
 
+import cn.hutool.crypto.SecureUtil;
+import cn.hutool.crypto.asymmetric.KeyType;
+import cn.hutool.crypto.asymmetric.RSA;
 import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.encrypt.core.CryptoPool;
 import org.dromara.common.encrypt.core.EncryptContext;
 import org.dromara.common.encrypt.enumd.AlgorithmType;
 import org.dromara.common.encrypt.enumd.EncodeType;
-import org.dromara.common.encrypt.utils.EncryptUtils;
+
+import java.nio.charset.StandardCharsets;
 
 
 /**
  * RSA算法实现
+ * <p>
+ * 公私钥只解析一次 Cipher 实例池化复用
  *
  * @author 老马
  * @version 4.6.0
  */
 public class RsaEncryptor extends AbstractEncryptor {
 
-    private final EncryptContext context;
+    private final CryptoPool<RSA> pool;
 
     public RsaEncryptor(EncryptContext context) {
         super(context);
@@ -24,7 +31,8 @@ public class RsaEncryptor extends AbstractEncryptor {
         if (StringUtils.isAnyEmpty(privateKey, publicKey)) {
             throw new IllegalArgumentException("RSA公私钥均需要提供，公钥加密，私钥解密。");
         }
-        this.context = context;
+        RSA rsa = SecureUtil.rsa(privateKey, publicKey);
+        this.pool = new CryptoPool<>(() -> new RSA(rsa.getPrivateKey(), rsa.getPublicKey()));
     }
 
     /**
@@ -44,9 +52,9 @@ public class RsaEncryptor extends AbstractEncryptor {
     @Override
     public String encrypt(String value, EncodeType encodeType) {
         if (encodeType == EncodeType.HEX) {
-            return EncryptUtils.encryptByRsaHex(value, context.getPublicKey());
+            return pool.execute(rsa -> rsa.encryptHex(value, StandardCharsets.UTF_8, KeyType.PublicKey));
         } else {
-            return EncryptUtils.encryptByRsa(value, context.getPublicKey());
+            return pool.execute(rsa -> rsa.encryptBase64(value, StandardCharsets.UTF_8, KeyType.PublicKey));
         }
     }
 
@@ -57,6 +65,6 @@ public class RsaEncryptor extends AbstractEncryptor {
      */
     @Override
     public String decrypt(String value) {
-        return EncryptUtils.decryptByRsa(value, context.getPrivateKey());
+        return pool.execute(rsa -> rsa.decryptStr(value, KeyType.PrivateKey, StandardCharsets.UTF_8));
     }
 }
@@ -1,23 +1,40 @@
 package org.dromara.common.encrypt.core.encryptor;
 
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.SmUtil;
+import cn.hutool.crypto.symmetric.SM4;
+import org.dromara.common.encrypt.core.CryptoPool;
 import org.dromara.common.encrypt.core.EncryptContext;
 import org.dromara.common.encrypt.enumd.AlgorithmType;
 import org.dromara.common.encrypt.enumd.EncodeType;
-import org.dromara.common.encrypt.utils.EncryptUtils;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * sm4算法实现
+ * <p>
+ * 秘钥在创建时校验一次 Cipher 实例池化复用
  *
  * @author 老马
  * @version 4.6.0
  */
 public class Sm4Encryptor extends AbstractEncryptor {
 
-    private final EncryptContext context;
+    private final CryptoPool<SM4> pool;
 
     public Sm4Encryptor(EncryptContext context) {
         super(context);
-        this.context = context;
+        String password = context.getPassword();
+        if (StrUtil.isBlank(password)) {
+            throw new IllegalArgumentException("SM4需要传入秘钥信息");
+        }
+        // sm4算法的秘钥要求是16位长度
+        int sm4PasswordLength = 16;
+        if (sm4PasswordLength != password.length()) {
+            throw new IllegalArgumentException("SM4秘钥长度要求为16位");
+        }
+        byte[] key = password.getBytes(StandardCharsets.UTF_8);
+        this.pool = new CryptoPool<>(() -> SmUtil.sm4(key));
     }
 
     /**
@@ -37,9 +54,9 @@ public class Sm4Encryptor extends AbstractEncryptor {
     @Override
     public String encrypt(String value, EncodeType encodeType) {
         if (encodeType == EncodeType.HEX) {
-            return EncryptUtils.encryptBySm4Hex(value, context.getPassword());
+            return pool.execute(sm4 -> sm4.encryptHex(value, StandardCharsets.UTF_8));
         } else {
-            return EncryptUtils.encryptBySm4(value, context.getPassword());
+            return pool.execute(sm4 -> sm4.encryptBase64(value, StandardCharsets.UTF_8));
         }
     }
 
@@ -50,6 +67,6 @@ public class Sm4Encryptor extends AbstractEncryptor {
      */
     @Override
     public String decrypt(String value) {
-        return EncryptUtils.decryptBySm4(value, context.getPassword());
+        return pool.execute(sm4 -> sm4.decryptStr(value, StandardCharsets.UTF_8));
     }
 }
@@ -1,6 +1,11 @@
 package org.dromara.common.encrypt.filter;
 
+import cn.hutool.core.codec.Base64;
 import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.RandomUtil;
+import cn.hutool.crypto.SecureUtil;
+import cn.hutool.crypto.asymmetric.KeyType;
+import cn.hutool.crypto.asymmetric.RSA;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -9,26 +14,52 @@ import org.dromara.common.core.exception.ServiceException;
 import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.encrypt.annotation.ApiEncrypt;
+import org.dromara.common.encrypt.core.CryptoPool;
 import org.dromara.common.encrypt.properties.ApiDecryptProperties;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 
 
 /**
  * Crypto 过滤器
+ * <p>
+ * 标注 {@link ApiEncrypt} 的接口在首次请求时一次性收集 未命中这些接口的请求不再解析处理器
+ * 请求体与响应体均为流式加解密
  *
  * @author wdhcr
  */
 public class CryptoFilter implements Filter {
     private final ApiDecryptProperties properties;
 
+    /**
+     * 请求解密私钥(解析一次 实例池化)
+     */
+    private final CryptoPool<RSA> requestRsa;
+
+    /**
+     * 响应加密公钥(解析一次 实例池化)
+     */
+    private final CryptoPool<RSA> responseRsa;
+
+    /**
+     * 标注了 ApiEncrypt 的接口映射
+     */
+    private volatile Map<RequestMappingInfo, ApiEncrypt> encryptMappings;
+
     public CryptoFilter(ApiDecryptProperties properties) {
         this.properties = properties;
+        this.requestRsa = createRsaPool(properties.getPrivateKey(), null);
+        this.responseRsa = createRsaPool(null, properties.getPublicKey());
     }
 
     @Override
@@ -39,16 +70,17 @@ public class CryptoFilter implements Filter {
         ApiEncrypt apiEncrypt = this.getApiEncryptAnnotation(servletRequest);
         boolean responseFlag = apiEncrypt != null && apiEncrypt.response();
         ServletRequest requestWrapper = null;
-        ServletResponse responseWrapper = null;
-        EncryptResponseBodyWrapper responseBodyWrapper = null;
+        EncryptResponseBodyWrapper responseWrapper = null;
 
         // 是否为 put 或者 post 请求
         if (HttpMethod.PUT.matches(servletRequest.getMethod()) || HttpMethod.POST.matches(servletRequest.getMethod())) {
             // 是否存在加密标头
             String headerValue = servletRequest.getHeader(properties.getHeaderFlag());
             if (StringUtils.isNotBlank(headerValue)) {
-                // 请求解密
-                requestWrapper = new DecryptRequestBodyWrapper(servletRequest, properties.getPrivateKey(), properties.getHeaderFlag());
+                // 请求解密 AES 密码采用 RSA 加密
+                String decryptAes = requestRsa.execute(rsa -> rsa.decryptStr(headerValue, KeyType.PrivateKey, StandardCharsets.UTF_8));
+                String aesPassword = Base64.decodeStr(decryptAes, StandardCharsets.UTF_8);
+                requestWrapper = new DecryptRequestBodyWrapper(servletRequest, aesPassword);
             } else {
                 // 是否有注解，有就报错，没有放行
                 if (ObjectUtil.isNotNull(apiEncrypt)) {
@@ -63,8 +95,16 @@ public class CryptoFilter implements Filter {
 
         // 判断是否响应加密
         if (responseFlag) {
-            responseBodyWrapper = new EncryptResponseBodyWrapper(servletResponse);
-            responseWrapper = responseBodyWrapper;
+            // 生成秘钥 Base64 编码后使用 Rsa 公钥加密 放入响应头(需在响应体写出前设置)
+            String aesPassword = RandomUtil.randomString(32);
+            String encryptAes = Base64.encode(aesPassword, StandardCharsets.UTF_8);
+            String encryptPassword = responseRsa.execute(rsa -> rsa.encryptBase64(encryptAes, StandardCharsets.UTF_8, KeyType.PublicKey));
+            servletResponse.addHeader("Access-Control-Expose-Headers", properties.getHeaderFlag());
+            servletResponse.setHeader(properties.getHeaderFlag(), encryptPassword);
+            servletResponse.setHeader("Access-Control-Allow-Origin", "*");
+            servletResponse.setHeader("Access-Control-Allow-Methods", "*");
+            servletResponse.setCharacterEncoding(StandardCharsets.UTF_8.toString());
+            responseWrapper = new EncryptResponseBodyWrapper(servletResponse, aesPassword);
         }
 
         chain.doFilter(
@@ -72,12 +112,8 @@ public class CryptoFilter implements Filter {
             ObjectUtil.defaultIfNull(responseWrapper, response));
 
         if (responseFlag) {
-            servletResponse.reset();
-            // 对原始内容加密
-            String encryptContent = responseBodyWrapper.getEncryptContent(
-                servletResponse, properties.getPublicKey(), properties.getHeaderFlag());
-            // 对加密后的内容写出
-            servletResponse.getWriter().write(encryptContent);
+            // 写出最后的加密块
+            responseWrapper.finish();
         }
     }
 
@@ -86,8 +122,17 @@ public class CryptoFilter implements Filter {
      */
     private ApiEncrypt getApiEncryptAnnotation(HttpServletRequest servletRequest) {
         RequestMappingHandlerMapping handlerMapping = SpringUtils.getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        Map<RequestMappingInfo, ApiEncrypt> mappings = getEncryptMappings(handlerMapping);
+        if (mappings.isEmpty()) {
+            return null;
+        }
         // 获取注解
         try {
+            // 未匹配任何加密接口的路由直接返回 无需解析完整处理器
+            if (!matchesAny(handlerMapping, mappings, servletRequest)) {
+                return null;
+            }
+            // 匹配到加密接口时解析实际处理器(可能存在优先级更高的非加密接口)
             HandlerExecutionChain mappingHandler = handlerMapping.getHandler(servletRequest);
             if (ObjectUtil.isNotNull(mappingHandler)) {
                 Object handler = mappingHandler.getHandler();
@@ -104,6 +149,67 @@ public class CryptoFilter implements Filter {
         return null;
     }
 
+    /**
+     * 判断请求是否匹配任一加密接口
+     */
+    private boolean matchesAny(RequestMappingHandlerMapping handlerMapping, Map<RequestMappingInfo, ApiEncrypt> mappings,
+                               HttpServletRequest servletRequest) {
+        boolean parsed = false;
+        if (handlerMapping.getPatternParser() != null) {
+            if (!ServletRequestPathUtils.hasParsedRequestPath(servletRequest)) {
+                ServletRequestPathUtils.parseAndCache(servletRequest);
+                parsed = true;
+            }
+        } else {
+            handlerMapping.getUrlPathHelper().resolveAndCacheLookupPath(servletRequest);
+        }
+        try {
+            for (RequestMappingInfo info : mappings.keySet()) {
+                if (info.getMatchingCondition(servletRequest) != null) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            if (parsed) {
+                ServletRequestPathUtils.clearParsedRequestPath(servletRequest);
+            }
+        }
+    }
+
+    /**
+     * 收集所有标注了 ApiEncrypt 的接口映射
+     */
+    private Map<RequestMappingInfo, ApiEncrypt> getEncryptMappings(RequestMappingHandlerMapping handlerMapping) {
+        Map<RequestMappingInfo, ApiEncrypt> mappings = encryptMappings;
+        if (mappings == null) {
+            synchronized (this) {
+                mappings = encryptMappings;
+                if (mappings == null) {
+                    mappings = new HashMap<>();
+                    for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+                        ApiEncrypt apiEncrypt = entry.getValue().getMethodAnnotation(ApiEncrypt.class);
+                        if (apiEncrypt != null) {
+                            mappings.put(entry.getKey(), apiEncrypt);
+                        }
+                    }
+                    encryptMappings = mappings;
+                }
+            }
+        }
+        return mappings;
+    }
+
+    private static CryptoPool<RSA> createRsaPool(String privateKey, String publicKey) {
+        if (StringUtils.isAllBlank(privateKey, publicKey)) {
+            return new CryptoPool<>(() -> {
+                throw new IllegalStateException("api-decrypt 未配置加解密秘钥");
+            });
+        }
+        RSA rsa = SecureUtil.rsa(privateKey, publicKey);
+        return new CryptoPool<>(() -> new RSA(rsa.getPrivateKey(), rsa.getPublicKey()));
+    }
+
     @Override
     public void destroy() {
     }
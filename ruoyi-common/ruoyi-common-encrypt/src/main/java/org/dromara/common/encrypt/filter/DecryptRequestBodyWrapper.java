@@ -1,58 +1,106 @@
 package org.dromara.common.encrypt.filter;
 
-import cn.hutool.core.io.IoUtil;
 import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 import org.dromara.common.core.constant.Constants;
-import org.dromara.common.encrypt.utils.EncryptUtils;
 import org.springframework.http.MediaType;
 
+import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.spec.SecretKeySpec;
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
 
 /**
  * 解密请求参数工具类
+ * <p>
+ * 请求体在读取时边 Base64 解码边 AES 解密 不在内存中缓存完整请求体
  *
  * @author wdhcr
  */
 public class DecryptRequestBodyWrapper extends HttpServletRequestWrapper {
 
-    private final byte[] body;
+    private final ServletInputStream inputStream;
 
-    public DecryptRequestBodyWrapper(HttpServletRequest request, String privateKey, String headerFlag) throws IOException {
+    /**
+     * @param request     原始请求
+     * @param aesPassword 请求头中解出的 AES 秘钥
+     */
+    public DecryptRequestBodyWrapper(HttpServletRequest request, String aesPassword) throws IOException {
         super(request);
-        // 获取 AES 密码 采用 RSA 加密
-        String headerRsa = request.getHeader(headerFlag);
-        String decryptAes = EncryptUtils.decryptByRsa(headerRsa, privateKey);
-        // 解密 AES 密码
-        String aesPassword = EncryptUtils.decryptByBase64(decryptAes);
         request.setCharacterEncoding(Constants.UTF8);
-        byte[] readBytes = IoUtil.readBytes(request.getInputStream(), false);
-        String requestBody = new String(readBytes, StandardCharsets.UTF_8);
-        // 解密 body 采用 AES 加密
-        String decryptBody = EncryptUtils.decryptByAes(requestBody, aesPassword);
-        body = decryptBody.getBytes(StandardCharsets.UTF_8);
+        Cipher cipher;
+        try {
+            cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
+            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(aesPassword.getBytes(StandardCharsets.UTF_8), "AES"));
+        } catch (GeneralSecurityException e) {
+            throw new IOException("初始化请求解密失败", e);
+        }
+        // 解密 body 采用 AES 加密 Base64 编码(忽略换行等非编码字符)
+        InputStream body = new CipherInputStream(Base64.getMimeDecoder().wrap(request.getInputStream()), cipher);
+        this.inputStream = new ServletInputStream() {
+
+            private boolean finished;
+
+            @Override
+            public int read() throws IOException {
+                int b = body.read();
+                finished = b == -1;
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = body.read(b, off, len);
+                finished = n == -1;
+                return n;
+            }
+
+            @Override
+            public boolean isFinished() {
+                return finished;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+
+            }
+
+            @Override
+            public void close() throws IOException {
+                body.close();
+            }
+        };
     }
 
     @Override
     public BufferedReader getReader() {
-        return new BufferedReader(new InputStreamReader(getInputStream()));
+        return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
     }
 
-
+    /**
+     * 解密后长度在读取完成前未知
+     */
     @Override
     public int getContentLength() {
-        return body.length;
+        return -1;
     }
 
     @Override
     public long getContentLengthLong() {
-        return body.length;
+        return -1L;
     }
 
     @Override
@@ -60,35 +108,8 @@ public class DecryptRequestBodyWrapper extends HttpServletRequestWrapper {
         return MediaType.APPLICATION_JSON_VALUE;
     }
 
-
     @Override
     public ServletInputStream getInputStream() {
-        final ByteArrayInputStream bais = new ByteArrayInputStream(body);
-        return new ServletInputStream() {
-            @Override
-            public int read() {
-                return bais.read();
-            }
-
-            @Override
-            public int available() {
-                return body.length;
-            }
-
-            @Override
-            public boolean isFinished() {
-                return false;
-            }
-
-            @Override
-            public boolean isReady() {
-                return false;
-            }
-
-            @Override
-            public void setReadListener(ReadListener readListener) {
-
-            }
-        };
+        return inputStream;
     }
 }
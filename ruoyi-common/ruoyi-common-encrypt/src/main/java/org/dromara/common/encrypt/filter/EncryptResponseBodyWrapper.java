@@ -1,121 +1,173 @@
 package org.dromara.common.encrypt.filter;
 
-import cn.hutool.core.util.RandomUtil;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpServletResponseWrapper;
-import org.dromara.common.encrypt.utils.EncryptUtils;
-
-import java.io.*;
+import org.springframework.http.HttpHeaders;
+
+import javax.crypto.Cipher;
+import javax.crypto.CipherOutputStream;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
 
 /**
  * 加密响应参数包装类
+ * <p>
+ * 响应内容在写出时逐块 AES 加密并 Base64 编码后直接写入原始响应 不在内存中缓存完整响应体
+ * 加密结果与整体加密一致(AES/ECB/PKCS5Padding + Base64)
  *
  * @author Michelle.Chung
  */
 public class EncryptResponseBodyWrapper extends HttpServletResponseWrapper {
 
-    private final ByteArrayOutputStream byteArrayOutputStream;
-    private final ServletOutputStream servletOutputStream;
-    private final PrintWriter printWriter;
+    private final byte[] aesKey;
+    private OutputStream encryptStream;
+    private ServletOutputStream servletOutputStream;
+    private PrintWriter printWriter;
 
-    public EncryptResponseBodyWrapper(HttpServletResponse response) throws IOException {
+    /**
+     * @param response    原始响应
+     * @param aesPassword 本次响应的 AES 秘钥
+     */
+    public EncryptResponseBodyWrapper(HttpServletResponse response, String aesPassword) {
         super(response);
-        this.byteArrayOutputStream = new ByteArrayOutputStream();
-        this.servletOutputStream = this.getOutputStream();
-        this.printWriter = new PrintWriter(new OutputStreamWriter(byteArrayOutputStream));
+        this.aesKey = aesPassword.getBytes(StandardCharsets.UTF_8);
     }
 
     @Override
-    public PrintWriter getWriter() {
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (servletOutputStream == null) {
+            OutputStream out = getEncryptStream();
+            servletOutputStream = new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+
+                }
+
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+            };
+        }
+        return servletOutputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (printWriter == null) {
+            printWriter = new PrintWriter(new OutputStreamWriter(getEncryptStream(), StandardCharsets.UTF_8));
+        }
         return printWriter;
     }
 
     @Override
     public void flushBuffer() throws IOException {
-        if (servletOutputStream != null) {
-            servletOutputStream.flush();
-        }
         if (printWriter != null) {
             printWriter.flush();
         }
+        if (encryptStream != null) {
+            encryptStream.flush();
+        }
     }
 
     @Override
     public void reset() {
-        byteArrayOutputStream.reset();
+        resetBuffer();
     }
 
-    public byte[] getResponseData() throws IOException {
-        flushBuffer();
-        return byteArrayOutputStream.toByteArray();
-    }
-
-    public String getContent() throws IOException {
-        flushBuffer();
-        return byteArrayOutputStream.toString();
+    @Override
+    public void resetBuffer() {
+        // 丢弃原始响应中未提交的内容 重新开始加密(已提交时由原始响应抛出异常)
+        super.resetBuffer();
+        encryptStream = null;
+        servletOutputStream = null;
+        printWriter = null;
     }
 
     /**
-     * 获取加密内容
-     *
-     * @param servletResponse response
-     * @param publicKey       RSA公钥 (用于加密 AES 秘钥)
-     * @param headerFlag      请求头标志
-     * @return 加密内容
-     * @throws IOException
+     * 加密后长度与原始内容不同 忽略下游设置的内容长度
      */
-    public String getEncryptContent(HttpServletResponse servletResponse, String publicKey, String headerFlag) throws IOException {
-        // 生成秘钥
-        String aesPassword = RandomUtil.randomString(32);
-        // 秘钥使用 Base64 编码
-        String encryptAes = EncryptUtils.encryptByBase64(aesPassword);
-        // Rsa 公钥加密 Base64 编码
-        String encryptPassword = EncryptUtils.encryptByRsa(encryptAes, publicKey);
-
-        // 设置响应头
-        servletResponse.addHeader("Access-Control-Expose-Headers", headerFlag);
-        servletResponse.setHeader(headerFlag, encryptPassword);
-        servletResponse.setHeader("Access-Control-Allow-Origin", "*");
-        servletResponse.setHeader("Access-Control-Allow-Methods", "*");
-        servletResponse.setCharacterEncoding(StandardCharsets.UTF_8.toString());
-
-        // 获取原始内容
-        String originalBody = this.getContent();
-        // 对内容进行加密
-        return EncryptUtils.encryptByAes(originalBody, aesPassword);
+    @Override
+    public void setContentLength(int len) {
     }
 
     @Override
-    public ServletOutputStream getOutputStream() throws IOException {
-        return new ServletOutputStream() {
-            @Override
-            public boolean isReady() {
-                return false;
-            }
+    public void setContentLengthLong(long len) {
+    }
 
-            @Override
-            public void setWriteListener(WriteListener writeListener) {
+    @Override
+    public void setHeader(String name, String value) {
+        if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            super.setHeader(name, value);
+        }
+    }
 
-            }
+    @Override
+    public void addHeader(String name, String value) {
+        if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            super.addHeader(name, value);
+        }
+    }
 
-            @Override
-            public void write(int b) throws IOException {
-                byteArrayOutputStream.write(b);
-            }
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            super.setIntHeader(name, value);
+        }
+    }
 
-            @Override
-            public void write(byte[] b) throws IOException {
-                byteArrayOutputStream.write(b);
-            }
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    /**
+     * 写出最后一个加密块与 Base64 填充 完成响应(响应体为空时同样输出空内容的密文)
+     */
+    public void finish() throws IOException {
+        if (printWriter != null) {
+            printWriter.flush();
+        }
+        getEncryptStream().close();
+    }
 
-            @Override
-            public void write(byte[] b, int off, int len) throws IOException {
-                byteArrayOutputStream.write(b, off, len);
+    private OutputStream getEncryptStream() throws IOException {
+        if (encryptStream == null) {
+            Cipher cipher;
+            try {
+                cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
+                cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(aesKey, "AES"));
+            } catch (GeneralSecurityException e) {
+                throw new IOException("初始化响应加密失败", e);
             }
-        };
+            encryptStream = new CipherOutputStream(Base64.getEncoder().wrap(super.getOutputStream()), cipher);
+        }
+        return encryptStream;
     }
 
 }
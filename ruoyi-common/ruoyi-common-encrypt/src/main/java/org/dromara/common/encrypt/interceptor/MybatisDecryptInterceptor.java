@@ -7,13 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
 import org.apache.ibatis.plugin.*;
-import org.dromara.common.core.utils.StringUtils;
-import org.dromara.common.encrypt.annotation.EncryptField;
-import org.dromara.common.encrypt.core.EncryptContext;
+import org.dromara.common.encrypt.core.EncryptFieldMeta;
 import org.dromara.common.encrypt.core.EncryptorManager;
-import org.dromara.common.encrypt.enumd.AlgorithmType;
-import org.dromara.common.encrypt.enumd.EncodeType;
-import org.dromara.common.encrypt.properties.EncryptorProperties;
 
 import java.lang.reflect.Field;
 import java.sql.Statement;
@@ -34,8 +29,12 @@ import java.util.*;
 @AllArgsConstructor
 public class MybatisDecryptInterceptor implements Interceptor {
 
+    /**
+     * 结果集达到该数量时并行解密
+     */
+    private static final int PARALLEL_THRESHOLD = 1000;
+
     private final EncryptorManager encryptorManager;
-    private final EncryptorProperties defaultProperties;
 
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
@@ -67,47 +66,35 @@ public class MybatisDecryptInterceptor implements Interceptor {
             }
             // 判断第一个元素是否含有注解。如果没有直接返回，提高效率
             Object firstItem = list.get(0);
-            if (ObjectUtil.isNull(firstItem) || CollUtil.isEmpty(encryptorManager.getFieldCache(firstItem.getClass()))) {
+            if (ObjectUtil.isNull(firstItem) || CollUtil.isEmpty(encryptorManager.getFieldMetas(firstItem.getClass()))) {
                 return;
             }
-            list.forEach(this::decryptHandler);
+            if (list.size() >= PARALLEL_THRESHOLD) {
+                // 大结果集并行解密(加解密执行者均为线程安全)
+                list.parallelStream().forEach(this::decryptHandler);
+            } else {
+                list.forEach(this::decryptHandler);
+            }
             return;
         }
         // 不在缓存中的类,就是没有加密注解的类(当然也有可能是typeAliasesPackage写错)
-        Set<Field> fields = encryptorManager.getFieldCache(sourceObject.getClass());
-        if(ObjectUtil.isNull(fields)){
+        List<EncryptFieldMeta> metas = encryptorManager.getFieldMetas(sourceObject.getClass());
+        if (ObjectUtil.isNull(metas)) {
             return;
         }
         try {
-            for (Field field : fields) {
-                field.set(sourceObject, this.decryptField(Convert.toStr(field.get(sourceObject)), field));
+            for (EncryptFieldMeta meta : metas) {
+                Field field = meta.getField();
+                String value = Convert.toStr(field.get(sourceObject));
+                if (ObjectUtil.isNotNull(value)) {
+                    field.set(sourceObject, encryptorManager.decrypt(value, meta));
+                }
             }
         } catch (Exception e) {
             log.error("处理解密字段时出错", e);
         }
     }
 
-    /**
-     * 字段值进行加密。通过字段的批注注册新的加密算法
-     *
-     * @param value 待加密的值
-     * @param field 待加密字段
-     * @return 加密后结果
-     */
-    private String decryptField(String value, Field field) {
-        if (ObjectUtil.isNull(value)) {
-            return null;
-        }
-        EncryptField encryptField = field.getAnnotation(EncryptField.class);
-        EncryptContext encryptContext = new EncryptContext();
-        encryptContext.setAlgorithm(encryptField.algorithm() == AlgorithmType.DEFAULT ? defaultProperties.getAlgorithm() : encryptField.algorithm());
-        encryptContext.setEncode(encryptField.encode() == EncodeType.DEFAULT ? defaultProperties.getEncode() : encryptField.encode());
-        encryptContext.setPassword(StringUtils.isBlank(encryptField.password()) ? defaultProperties.getPassword() : encryptField.password());
-        encryptContext.setPrivateKey(StringUtils.isBlank(encryptField.privateKey()) ? defaultProperties.getPrivateKey() : encryptField.privateKey());
-        encryptContext.setPublicKey(StringUtils.isBlank(encryptField.publicKey()) ? defaultProperties.getPublicKey() : encryptField.publicKey());
-        return this.encryptorManager.decrypt(value, encryptContext);
-    }
-
     @Override
     public Object plugin(Object target) {
         return Plugin.wrap(target, this);
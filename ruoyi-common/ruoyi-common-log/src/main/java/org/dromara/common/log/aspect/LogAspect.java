@@ -1,9 +1,12 @@
 package org.dromara.common.log.aspect;
 
-import cn.hutool.core.lang.Dict;
 import cn.hutool.core.map.MapUtil;
 import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.ObjectUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.filter.FilteringGeneratorDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -27,9 +30,14 @@ import org.springframework.http.HttpMethod;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.StringJoiner;
+import java.util.Set;
 
 /**
  * 操作日志记录处理
@@ -46,6 +54,10 @@ public class LogAspect {
      */
     public static final String[] EXCLUDE_PROPERTIES = { "password", "oldPassword", "newPassword", "confirmPassword" };
 
+    /**
+     * 请求参数与响应结果的最大记录长度
+     */
+    private static final int MAX_LENGTH = 3800;
 
     /**
      * 计时 key
@@ -145,7 +157,9 @@ public class LogAspect {
         }
         // 是否需要保存response，参数和值
         if (log.isSaveResponseData() && ObjectUtil.isNotNull(jsonResult)) {
-            operLog.setJsonResult(StringUtils.substring(JsonUtils.toJsonString(jsonResult), 0, 3800));
+            LimitedWriter writer = new LimitedWriter(MAX_LENGTH);
+            writeJson(writer, List.of(jsonResult), Set.of());
+            operLog.setJsonResult(writer.toString());
         }
     }
 
@@ -159,36 +173,67 @@ public class LogAspect {
         Map<String, String> paramsMap = ServletUtils.getParamMap(ServletUtils.getRequest());
         String requestMethod = operLog.getRequestMethod();
         if (MapUtil.isEmpty(paramsMap) && StringUtils.equalsAny(requestMethod, HttpMethod.PUT.name(), HttpMethod.POST.name(), HttpMethod.DELETE.name())) {
-            String params = argsArrayToString(joinPoint.getArgs(), excludeParamNames);
-            operLog.setOperParam(StringUtils.substring(params, 0, 3800));
+            operLog.setOperParam(argsArrayToString(joinPoint.getArgs(), excludeParamNames));
         } else {
             MapUtil.removeAny(paramsMap, EXCLUDE_PROPERTIES);
             MapUtil.removeAny(paramsMap, excludeParamNames);
-            operLog.setOperParam(StringUtils.substring(JsonUtils.toJsonString(paramsMap), 0, 3800));
+            operLog.setOperParam(StringUtils.substring(JsonUtils.toJsonString(paramsMap), 0, MAX_LENGTH));
         }
     }
 
     /**
-     * 参数拼装
+     * 参数拼装 序列化时直接排除敏感属性 超出长度限制后停止序列化
      */
     private String argsArrayToString(Object[] paramsArray, String[] excludeParamNames) {
-        StringJoiner params = new StringJoiner(" ");
         if (ArrayUtil.isEmpty(paramsArray)) {
-            return params.toString();
+            return StringUtils.EMPTY;
         }
+        Set<String> excludes = new HashSet<>(List.of(EXCLUDE_PROPERTIES));
+        excludes.addAll(List.of(excludeParamNames));
+        List<Object> params = new ArrayList<>(paramsArray.length);
         for (Object o : paramsArray) {
             if (ObjectUtil.isNotNull(o) && !isFilterObject(o)) {
-                String str = JsonUtils.toJsonString(o);
-                Dict dict = JsonUtils.parseMap(str);
-                if (MapUtil.isNotEmpty(dict)) {
-                    MapUtil.removeAny(dict, EXCLUDE_PROPERTIES);
-                    MapUtil.removeAny(dict, excludeParamNames);
-                    str = JsonUtils.toJsonString(dict);
+                params.add(o);
+            }
+        }
+        LimitedWriter writer = new LimitedWriter(MAX_LENGTH);
+        writeJson(writer, params, excludes);
+        return writer.toString();
+    }
+
+    /**
+     * 将对象逐个序列化为 json 写入 多个对象以空格分隔
+     * <p>
+     * 对象第一层中名称在排除列表内的属性在序列化时直接跳过 写满长度限制后立即中止 开销只与限制长度有关
+     *
+     * @param writer   限长输出
+     * @param values   需要序列化的对象
+     * @param excludes 排除的属性名称
+     */
+    private void writeJson(LimitedWriter writer, List<Object> values, Set<String> excludes) {
+        ObjectMapper objectMapper = JsonUtils.getObjectMapper();
+        try {
+            for (int i = 0; i < values.size() && !writer.isFull(); i++) {
+                if (i > 0) {
+                    writer.write(' ');
+                }
+                // 中止时不补全未闭合的结构
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+                if (!excludes.isEmpty()) {
+                    generator = new FilteringGeneratorDelegate(generator, new ExcludePropertyFilter(excludes),
+                        TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true);
+                }
+                try (JsonGenerator gen = generator) {
+                    objectMapper.writeValue(gen, values.get(i));
                 }
-                params.add(str);
+            }
+        } catch (IOException e) {
+            // 已写满长度限制时丢弃剩余内容(异常可能被 jackson 包装)
+            if (!writer.isFull()) {
+                log.error("日志参数序列化异常:{}", e.getMessage());
             }
         }
-        return params.toString();
     }
 
     /**
@@ -216,4 +261,108 @@ public class LogAspect {
         return o instanceof MultipartFile || o instanceof HttpServletRequest || o instanceof HttpServletResponse
                || o instanceof BindingResult;
     }
+
+    /**
+     * 排除第一层指定名称属性的过滤器
+     */
+    private static class ExcludePropertyFilter extends TokenFilter {
+
+        private final Set<String> excludes;
+
+        ExcludePropertyFilter(Set<String> excludes) {
+            this.excludes = excludes;
+        }
+
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return excludes.contains(name) ? null : TokenFilter.INCLUDE_ALL;
+        }
+    }
+
+    /**
+     * 写满长度限制的输出
+     * <p>
+     * 首次写满时抛出异常中止序列化 之后的写入(如生成器关闭时补全结构、刷新缓冲)直接丢弃
+     */
+    private static class LimitedWriter extends Writer {
+
+        private final StringBuilder buffer;
+        private final int limit;
+        private boolean full;
+
+        LimitedWriter(int limit) {
+            this.buffer = new StringBuilder(Math.min(limit, 256));
+            this.limit = limit;
+        }
+
+        boolean isFull() {
+            return full;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            if (full) {
+                return;
+            }
+            int remaining = limit - buffer.length();
+            if (len > remaining) {
+                buffer.append(cbuf, off, remaining);
+                reachLimit();
+            }
+            buffer.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            if (full) {
+                return;
+            }
+            int remaining = limit - buffer.length();
+            if (len > remaining) {
+                buffer.append(str, off, off + remaining);
+                reachLimit();
+            }
+            buffer.append(str, off, off + len);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            if (full) {
+                return;
+            }
+            if (buffer.length() >= limit) {
+                reachLimit();
+            }
+            buffer.append((char) c);
+        }
+
+        private void reachLimit() throws LimitReachedException {
+            full = true;
+            throw new LimitReachedException();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+
+    /**
+     * 已写满长度限制(不记录堆栈)
+     */
+    private static class LimitReachedException extends IOException {
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package org.dromara.common.log.config;
+
+import org.dromara.common.log.config.properties.LogWriterProperties;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+/**
+ * 日志配置
+ *
+ * @author Lion Li
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(LogWriterProperties.class)
+public class LogConfig {
+
+}
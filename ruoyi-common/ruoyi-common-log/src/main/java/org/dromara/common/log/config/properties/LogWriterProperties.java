@@ -0,0 +1,52 @@
+package org.dromara.common.log.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 日志批量写入配置属性
+ *
+ * @author Lion Li
+ */
+@Data
+@ConfigurationProperties(prefix = "log-writer")
+public class LogWriterProperties {
+
+    /**
+     * 是否开启批量写入 关闭后每条日志直接写入数据库
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓冲队列容量
+     */
+    private int capacity = 10000;
+
+    /**
+     * 每批写入的最大条数 队列积压达到该值时立即写入
+     */
+    private int batchSize = 200;
+
+    /**
+     * 定时写入间隔
+     */
+    private Duration flushInterval = Duration.ofMillis(1000);
+
+    /**
+     * 队列已满时等待入队的最长时间 超时后溢写到本地文件或丢弃
+     */
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    /**
+     * 是否开启本地文件溢写 队列已满或写库失败时写入本地文件 数据库恢复后自动补录
+     */
+    private boolean spillEnabled = false;
+
+    /**
+     * 溢写文件目录
+     */
+    private String spillPath = "./logs/spill";
+
+}
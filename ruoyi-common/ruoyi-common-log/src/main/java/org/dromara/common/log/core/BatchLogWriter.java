@@ -0,0 +1,282 @@
+package org.dromara.common.log.core;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.json.utils.JsonUtils;
+import org.dromara.common.log.config.properties.LogWriterProperties;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 日志批量写入器
+ * <p>
+ * 日志先进入有界队列 由后台线程按固定间隔或积压达到批次大小时批量写入数据库
+ * 队列已满时入队等待一小段时间(背压) 仍失败则溢写到本地文件或丢弃并计数
+ * 写库失败的批次同样溢写到本地文件 数据库恢复后自动补录 关闭时写出队列中的全部日志
+ *
+ * @param <T> 日志实体类型
+ * @author Lion Li
+ */
+@Slf4j
+public class BatchLogWriter<T> {
+
+    private final String name;
+    private final Class<T> type;
+    private final LogWriterProperties properties;
+    private final Consumer<List<T>> writer;
+
+    private final BlockingQueue<T> queue;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private volatile boolean running = true;
+
+    private final Path spillFile;
+    private final Path replayFile;
+    private final Object spillLock = new Object();
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+
+    /**
+     * @param name       写入器名称 (用于线程名与溢写文件名)
+     * @param type       日志实体类型 (用于读取溢写文件)
+     * @param properties 批量写入配置
+     * @param writer     批量写入数据库的方法
+     */
+    public BatchLogWriter(String name, Class<T> type, LogWriterProperties properties, Consumer<List<T>> writer) {
+        this.name = name;
+        this.type = type;
+        this.properties = properties;
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.spillFile = Paths.get(properties.getSpillPath(), name + ".jsonl");
+        this.replayFile = Paths.get(properties.getSpillPath(), name + ".replay");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "log-writer-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(() -> flush(true), interval, interval, TimeUnit.MILLISECONDS);
+        registerMeters();
+    }
+
+    /**
+     * 写入日志 (未开启批量写入或已关闭时直接写入数据库)
+     *
+     * @param entity 日志实体
+     */
+    public void write(T entity) {
+        if (!properties.isEnabled() || !running) {
+            writer.accept(List.of(entity));
+            written.incrementAndGet();
+            return;
+        }
+        boolean offered;
+        try {
+            offered = queue.offer(entity, properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            offered = false;
+        }
+        if (!offered) {
+            overflow(List.of(entity));
+            return;
+        }
+        // 积压达到批次大小 立即触发写入 不等待定时任务
+        if (queue.size() >= properties.getBatchSize() && flushPending.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(() -> {
+                    flushPending.set(false);
+                    flush(false);
+                });
+            } catch (RejectedExecutionException e) {
+                flushPending.set(false);
+            }
+        }
+    }
+
+    /**
+     * 关闭写入器 写出队列中剩余的日志
+     */
+    public void shutdown() {
+        running = false;
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush(false);
+        log.info("日志批量写入器已关闭 name: {}, 写入: {}, 丢弃: {}, 溢写: {}", name, written.get(), dropped.get(), spilled.get());
+    }
+
+    /**
+     * 注册写入/丢弃/溢写计数与待写入数量指标 (见 /actuator/metrics/log.writer.*)
+     */
+    private void registerMeters() {
+        MeterRegistry registry = SpringUtils.getBeanFactory().getBeanProvider(MeterRegistry.class).getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        FunctionCounter.builder("log.writer.written", written, AtomicLong::get)
+            .description("已写入数据库的日志条数").tag("name", name).register(registry);
+        FunctionCounter.builder("log.writer.dropped", dropped, AtomicLong::get)
+            .description("因队列已满被丢弃的日志条数").tag("name", name).register(registry);
+        FunctionCounter.builder("log.writer.spilled", spilled, AtomicLong::get)
+            .description("溢写到本地文件的日志条数").tag("name", name).register(registry);
+        Gauge.builder("log.writer.pending", queue, BlockingQueue::size)
+            .description("队列中待写入的日志条数").tag("name", name).register(registry);
+    }
+
+    /**
+     * 分批写出队列中的日志
+     *
+     * @param replay 全部写入成功后是否补录溢写文件
+     */
+    private void flush(boolean replay) {
+        try {
+            boolean success = true;
+            List<T> batch = new ArrayList<>(properties.getBatchSize());
+            while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+                success &= writeBatch(batch);
+                batch.clear();
+            }
+            if (replay && success && properties.isSpillEnabled()) {
+                replaySpill();
+            }
+        } catch (Exception e) {
+            log.error("日志批量写入异常 name: {}", name, e);
+        }
+    }
+
+    private boolean writeBatch(List<T> batch) {
+        try {
+            writer.accept(batch);
+            written.addAndGet(batch.size());
+            return true;
+        } catch (Exception e) {
+            log.error("日志批量写入失败 name: {}, size: {}, error: {}", name, batch.size(), e.getMessage());
+            overflow(batch);
+            return false;
+        }
+    }
+
+    /**
+     * 处理无法写入的日志 开启溢写时写入本地文件 否则丢弃
+     */
+    private void overflow(List<T> entities) {
+        if (properties.isSpillEnabled() && spill(entities)) {
+            spilled.addAndGet(entities.size());
+            return;
+        }
+        long total = dropped.addAndGet(entities.size());
+        // 每丢弃约 1000 条输出一次告警 避免刷屏
+        if (total == entities.size() || total / 1000 != (total - entities.size()) / 1000) {
+            log.warn("日志缓冲队列已满 日志被丢弃 name: {}, 累计丢弃: {}", name, total);
+        }
+    }
+
+    private boolean spill(List<T> entities) {
+        synchronized (spillLock) {
+            try {
+                Files.createDirectories(spillFile.getParent());
+                try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (T entity : entities) {
+                        out.write(JsonUtils.toJsonString(entity));
+                        out.newLine();
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                log.error("日志溢写失败 name: {}, error: {}", name, e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 补录溢写文件中的日志 失败时将剩余部分放回溢写文件
+     */
+    private void replaySpill() throws IOException {
+        synchronized (spillLock) {
+            if (Files.notExists(replayFile)) {
+                if (Files.notExists(spillFile)) {
+                    return;
+                }
+                Files.move(spillFile, replayFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        long total = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            List<String> lines;
+            while (!(lines = readLines(reader)).isEmpty()) {
+                try {
+                    writer.accept(StreamUtils.toList(lines, line -> JsonUtils.parseObject(line, type)));
+                    total += lines.size();
+                    written.addAndGet(lines.size());
+                } catch (Exception e) {
+                    log.error("溢写日志补录失败 name: {}, error: {}", name, e.getMessage());
+                    restore(lines, reader);
+                    break;
+                }
+            }
+        }
+        Files.deleteIfExists(replayFile);
+        if (total > 0) {
+            log.info("溢写日志补录完成 name: {}, 条数: {}", name, total);
+        }
+    }
+
+    private List<String> readLines(BufferedReader reader) throws IOException {
+        List<String> lines = new ArrayList<>(properties.getBatchSize());
+        String line;
+        while (lines.size() < properties.getBatchSize() && (line = reader.readLine()) != null) {
+            if (StringUtils.isNotBlank(line)) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private void restore(List<String> lines, BufferedReader reader) throws IOException {
+        synchronized (spillLock) {
+            try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (String line : lines) {
+                    out.write(line);
+                    out.newLine();
+                }
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    out.write(line);
+                    out.newLine();
+                }
+            }
+        }
+    }
+
+}
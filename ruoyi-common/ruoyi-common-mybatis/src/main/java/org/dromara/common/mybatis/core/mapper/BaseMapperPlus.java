@@ -2,17 +2,25 @@ package org.dromara.common.mybatis.core.mapper;
 
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.ObjectUtil;
+import com.baomidou.mybatisplus.core.conditions.AbstractWrapper;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.reflect.GenericTypeUtils;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.toolkit.Db;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
+import org.dromara.common.core.exception.ServiceException;
 import org.dromara.common.core.utils.MapstructUtils;
 import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.mybatis.core.page.PageQuery;
+import org.dromara.common.mybatis.core.page.SeekPage;
 
 import java.io.Serializable;
 import java.util.Collection;
@@ -319,6 +327,63 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
         return (P) voPage;
     }
 
+    /**
+     * 根据条件游标分页查询VO对象列表(按主键倒序)
+     *
+     * @param pageQuery 分页信息 lastKey 为上一页返回的游标
+     * @param wrapper   查询条件Wrapper(不应包含排序)
+     * @return 查询到的VO对象分页列表
+     */
+    default SeekPage<V> selectVoSeek(PageQuery pageQuery, AbstractWrapper<T, ?, ?> wrapper) {
+        return selectVoSeek(pageQuery, wrapper, false, this.currentVoClass());
+    }
+
+    /**
+     * 根据条件游标分页查询实体对象列表，并将其转换为指定的VO对象分页列表
+     * <p>
+     * 以主键作为游标 查询条件追加 {@code 主键 < 游标}(升序时为 {@code >}) 并按主键排序 不使用 offset
+     * 多查一条用于判断是否存在下一页 总记录数仅在 searchCount 为 true 时查询
+     *
+     * @param pageQuery 分页信息 lastKey 为上一页返回的游标
+     * @param wrapper   查询条件Wrapper(不应包含排序)
+     * @param asc       是否按主键升序
+     * @param voClass   要转换的VO类的Class对象
+     * @param <C>       VO类的类型
+     * @return 查询到的VO对象分页列表
+     */
+    default <C> SeekPage<C> selectVoSeek(PageQuery pageQuery, AbstractWrapper<T, ?, ?> wrapper, boolean asc, Class<C> voClass) {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(this.currentModelClass());
+        if (ObjectUtil.isNull(tableInfo) || StringUtils.isBlank(tableInfo.getKeyColumn())) {
+            throw new ServiceException("游标分页需要实体类声明主键");
+        }
+        String keyColumn = tableInfo.getKeyColumn();
+        int size = ObjectUtil.defaultIfNull(pageQuery.getPageSize(), PageQuery.DEFAULT_PAGE_SIZE);
+        if (size <= 0) {
+            size = PageQuery.DEFAULT_PAGE_SIZE;
+        }
+        SeekPage<C> seekPage = new SeekPage<>(size);
+        if (Boolean.TRUE.equals(pageQuery.getSearchCount())) {
+            // 总数在追加游标条件前统计
+            seekPage.setTotal(this.selectCount(wrapper));
+        }
+        if (StringUtils.isNotBlank(pageQuery.getLastKey())) {
+            Object lastKey = SeekPage.decodeKey(pageQuery.getLastKey(), tableInfo.getKeyType());
+            wrapper.apply(keyColumn + (asc ? " > {0}" : " < {0}"), lastKey);
+        }
+        Page<T> page = new Page<>(1, size + 1L, false);
+        page.addOrder(asc ? OrderItem.asc(keyColumn) : OrderItem.desc(keyColumn));
+        List<T> list = this.selectList(page, wrapper);
+        if (list.size() > size) {
+            list = list.subList(0, size);
+            T last = list.get(size - 1);
+            seekPage.setNextKey(SeekPage.encodeKey(tableInfo.getPropertyValue(last, tableInfo.getKeyProperty())));
+        }
+        if (CollUtil.isNotEmpty(list)) {
+            seekPage.setRecords(MapstructUtils.convert(list, voClass));
+        }
+        return seekPage;
+    }
+
     /**
      * 根据条件查询符合条件的对象，并将其转换为指定类型的对象列表
      *
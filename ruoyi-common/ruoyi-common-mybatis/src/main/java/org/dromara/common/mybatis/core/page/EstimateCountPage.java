@@ -0,0 +1,23 @@
+package org.dromara.common.mybatis.core.page;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+
+import java.io.Serial;
+
+/**
+ * 估算总数的分页对象
+ * <p>
+ * 总数较大时使用执行计划中的预估行数代替 count 查询(见 PlusPaginationInnerInterceptor)
+ *
+ * @author Lion Li
+ */
+public class EstimateCountPage<T> extends Page<T> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public EstimateCountPage(long current, long size) {
+        super(current, size);
+    }
+
+}
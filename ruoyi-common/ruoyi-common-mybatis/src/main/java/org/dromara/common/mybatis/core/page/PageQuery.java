@@ -46,6 +46,21 @@ public class PageQuery implements Serializable {
      */
     private String isAsc;
 
+    /**
+     * 游标分页 上一页返回的下一页游标(首页传空字符串) 为 null 时使用普通分页
+     */
+    private String lastKey;
+
+    /**
+     * 是否查询总记录数 普通分页默认查询 游标分页默认不查询
+     */
+    private Boolean searchCount;
+
+    /**
+     * 是否估算总数 数据量较大时使用执行计划预估行数代替 count 查询(仅 MySQL PostgreSQL)
+     */
+    private Boolean estimateCount;
+
     /**
      * 当前记录起始索引 默认值
      */
@@ -65,7 +80,11 @@ public class PageQuery implements Serializable {
         if (pageNum <= 0) {
             pageNum = DEFAULT_PAGE_NUM;
         }
-        Page<T> page = new Page<>(pageNum, pageSize);
+        Page<T> page = Boolean.TRUE.equals(estimateCount)
+            ? new EstimateCountPage<>(pageNum, pageSize) : new Page<>(pageNum, pageSize);
+        if (searchCount != null) {
+            page.setSearchCount(searchCount);
+        }
         List<OrderItem> orderItems = buildOrderItem();
         if (CollUtil.isNotEmpty(orderItems)) {
             page.addOrder(orderItems);
@@ -114,6 +133,14 @@ public class PageQuery implements Serializable {
         return list;
     }
 
+    /**
+     * 是否为游标分页
+     */
+    @JsonIgnore
+    public boolean isSeek() {
+        return lastKey != null;
+    }
+
     @JsonIgnore
     public Integer getFirstNum() {
         return (pageNum - 1) * pageSize;
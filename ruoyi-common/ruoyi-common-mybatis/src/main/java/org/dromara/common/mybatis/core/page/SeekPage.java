@@ -0,0 +1,63 @@
+package org.dromara.common.mybatis.core.page;
+
+import cn.hutool.core.convert.Convert;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import lombok.Getter;
+import lombok.Setter;
+import org.dromara.common.core.exception.ServiceException;
+
+import java.io.Serial;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 游标分页对象
+ * <p>
+ * 按主键定位下一页(where id < 上一页最后一条的 id) 翻页深度不影响查询开销
+ * 游标为主键值的 Base64 编码 对前端不透明
+ *
+ * @author Lion Li
+ */
+@Getter
+@Setter
+public class SeekPage<T> extends Page<T> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 下一页游标 没有下一页时为 null
+     */
+    private String nextKey;
+
+    public SeekPage(long size) {
+        super(1, size, false);
+    }
+
+    /**
+     * 主键值编码为游标
+     */
+    public static String encodeKey(Object key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Convert.toStr(key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 游标解码为主键值
+     *
+     * @param lastKey 游标
+     * @param keyType 主键类型
+     */
+    public static Object decodeKey(String lastKey, Class<?> keyType) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(lastKey), StandardCharsets.UTF_8);
+            Object value = Convert.convert(keyType, key);
+            if (value == null) {
+                throw new ServiceException("分页游标有误");
+            }
+            return value;
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException("分页游标有误");
+        }
+    }
+
+}
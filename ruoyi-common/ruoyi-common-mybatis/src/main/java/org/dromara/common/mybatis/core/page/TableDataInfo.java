@@ -31,6 +31,11 @@ public class TableDataInfo<T> implements Serializable {
      */
     private List<T> rows;
 
+    /**
+     * 下一页游标(仅游标分页)
+     */
+    private String nextKey;
+
     /**
      * 消息状态码
      */
@@ -63,6 +68,9 @@ public class TableDataInfo<T> implements Serializable {
         rspData.setMsg("查询成功");
         rspData.setRows(page.getRecords());
         rspData.setTotal(page.getTotal());
+        if (page instanceof SeekPage<T> seekPage) {
+            rspData.setNextKey(seekPage.getNextKey());
+        }
         return rspData;
     }
 
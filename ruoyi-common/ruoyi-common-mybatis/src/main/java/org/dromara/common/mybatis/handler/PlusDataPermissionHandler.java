@@ -3,6 +3,8 @@ package org.dromara.common.mybatis.handler;
 import cn.hutool.core.annotation.AnnotationUtil;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.ObjectUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.JSQLParserException;
@@ -11,6 +13,8 @@ import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
 import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import org.apache.ibatis.io.Resources;
+import org.dromara.common.core.constant.CacheNames;
+import org.dromara.common.core.constant.GlobalConstants;
 import org.dromara.common.core.domain.dto.RoleDTO;
 import org.dromara.common.core.domain.model.LoginUser;
 import org.dromara.common.core.exception.ServiceException;
@@ -21,6 +25,9 @@ import org.dromara.common.mybatis.annotation.DataColumn;
 import org.dromara.common.mybatis.annotation.DataPermission;
 import org.dromara.common.mybatis.enums.DataScopeType;
 import org.dromara.common.mybatis.helper.DataPermissionHelper;
+import org.dromara.common.redis.dto.CacheInvalidateMessageDto;
+import org.dromara.common.redis.manager.CaffeineCacheDecorator;
+import org.dromara.common.redis.utils.RedisUtils;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.expression.BeanFactoryResolver;
@@ -31,10 +38,13 @@ import org.springframework.core.type.ClassMetadata;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.expression.*;
 import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.util.ClassUtils;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -48,21 +58,47 @@ import java.util.function.Function;
 @Slf4j
 public class PlusDataPermissionHandler {
 
+    /**
+     * 无需数据过滤时的条件签名
+     */
+    public static final Object NO_FILTER = new Object();
+
+    /**
+     * 数据过滤条件缓存失效通知主题
+     */
+    public static final String INVALIDATE_TOPIC = GlobalConstants.GLOBAL_REDIS_KEY + "data_permission_invalidate";
+
     /**
      * 类名称与注解的映射关系缓存(由于aop无法拦截mybatis接口类上的注解 只能通过启动预扫描的方式进行)
      */
     private final Map<String, DataPermission> dataPermissionCacheMap = new ConcurrentHashMap<>();
 
     /**
-     * spel 解析器
+     * spel 解析器(混合编译模式 热点表达式编译为字节码执行)
      */
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ExpressionParser parser = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, getClass().getClassLoader()));
     private final ParserContext parserContext = new TemplateParserContext();
     /**
      * bean解析器 用于处理 spel 表达式中对 bean 的调用
      */
     private final BeanResolver beanResolver = new BeanFactoryResolver(SpringUtils.getBeanFactory());
 
+    /**
+     * 数据权限类型与已解析 spel 模板的映射关系(启动时解析一次)
+     */
+    private final Map<DataScopeType, org.springframework.expression.Expression> templateCacheMap = new EnumMap<>(DataScopeType.class);
+
+    /**
+     * 数据过滤条件缓存 key 为用户/角色/注解/操作类型 value 为解析好的 sql 表达式
+     * <p>
+     * 角色自定义权限缓存失效或收到 {@link #INVALIDATE_TOPIC} 通知(部门树变更)时 清空全部缓存
+     */
+    private final Cache<DataFilterKey, Optional<Expression>> dataFilterCache = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofMinutes(5))
+        .maximumSize(10000)
+        .build();
+
     /**
      * 构造方法，扫描指定包下的 Mapper 类并初始化缓存
      *
@@ -70,6 +106,23 @@ public class PlusDataPermissionHandler {
      */
     public PlusDataPermissionHandler(String mapperPackage) {
         scanMapperClasses(mapperPackage);
+        for (DataScopeType type : DataScopeType.values()) {
+            templateCacheMap.put(type, parser.parseExpression(type.getSqlTemplate(), parserContext));
+        }
+        String roleCustom = StringUtils.substringBefore(CacheNames.SYS_ROLE_CUSTOM, "#");
+        RedisUtils.subscribe(CaffeineCacheDecorator.INVALIDATE_TOPIC, CacheInvalidateMessageDto.class, message -> {
+            if (StringUtils.endsWith(message.getCacheName(), roleCustom)) {
+                dataFilterCache.invalidateAll();
+            }
+        });
+        RedisUtils.subscribe(INVALIDATE_TOPIC, String.class, message -> dataFilterCache.invalidateAll());
+    }
+
+    /**
+     * 通知集群内各节点清空数据过滤条件缓存(如部门树变更后)
+     */
+    public static void publishInvalidate() {
+        RedisUtils.publish(INVALIDATE_TOPIC, StringUtils.EMPTY);
     }
 
     /**
@@ -85,21 +138,16 @@ public class PlusDataPermissionHandler {
             // 获取数据权限配置
             DataPermission dataPermission = getDataPermission(mappedStatementId);
             // 获取当前登录用户信息
-            LoginUser currentUser = DataPermissionHelper.getVariable("user");
-            if (ObjectUtil.isNull(currentUser)) {
-                currentUser = LoginHelper.getLoginUser();
-                DataPermissionHelper.setVariable("user", currentUser);
-            }
+            initCurrentUser();
             // 如果是超级管理员或租户管理员，则不过滤数据
             if (LoginHelper.isSuperAdmin() || LoginHelper.isTenantAdmin()) {
                 return where;
             }
-            // 构造数据过滤条件的 SQL 片段
-            String dataFilterSql = buildDataFilter(dataPermission, isSelect);
-            if (StringUtils.isBlank(dataFilterSql)) {
+            // 构造数据过滤条件的 SQL 表达式
+            Expression expression = getDataFilterExpression(dataPermission, isSelect);
+            if (ObjectUtil.isNull(expression)) {
                 return where;
             }
-            Expression expression = CCJSqlParserUtil.parseExpression(dataFilterSql);
             // 数据权限使用单独的括号 防止与其他条件冲突
             ParenthesedExpressionList<Expression> parenthesis = new ParenthesedExpressionList<>(expression);
             if (ObjectUtil.isNotNull(where)) {
@@ -107,13 +155,91 @@ public class PlusDataPermissionHandler {
             } else {
                 return parenthesis;
             }
-        } catch (JSQLParserException e) {
-            throw new ServiceException("数据权限解析异常 => " + e.getMessage());
         } finally {
             DataPermissionHelper.removePermission();
         }
     }
 
+    /**
+     * 获取当前数据过滤条件的签名 签名相同的同一条 SQL 改写结果一致 可直接复用
+     * <p>
+     * 签名为已缓存的过滤表达式实例(缓存失效后实例随之变化) 无需过滤时为 {@link #NO_FILTER}
+     *
+     * @param mappedStatementId Mapper 方法的 ID
+     * @param isSelect          是否为查询语句
+     * @return 数据过滤条件签名 结果依赖自定义变量无法复用时返回 null
+     */
+    public Object getDataFilterSignature(String mappedStatementId, boolean isSelect) {
+        DataPermission dataPermission = getDataPermission(mappedStatementId);
+        initCurrentUser();
+        if (LoginHelper.isSuperAdmin() || LoginHelper.isTenantAdmin()) {
+            return NO_FILTER;
+        }
+        if (DataPermissionHelper.getContext().size() > 1) {
+            return null;
+        }
+        return ObjectUtil.defaultIfNull(getDataFilterExpression(dataPermission, isSelect), NO_FILTER);
+    }
+
+    /**
+     * 初始化上下文中的当前登录用户
+     */
+    private void initCurrentUser() {
+        LoginUser currentUser = DataPermissionHelper.getVariable("user");
+        if (ObjectUtil.isNull(currentUser)) {
+            currentUser = LoginHelper.getLoginUser();
+            DataPermissionHelper.setVariable("user", currentUser);
+        }
+    }
+
+    /**
+     * 获取数据过滤条件的 SQL 表达式 相同用户/角色/注解/操作类型直接复用已解析的结果
+     *
+     * @param dataPermission 数据权限注解
+     * @param isSelect       是否为查询语句
+     * @return 数据过滤条件的 SQL 表达式 无需过滤时返回 null
+     */
+    private Expression getDataFilterExpression(DataPermission dataPermission, boolean isSelect) {
+        Map<String, Object> variables = DataPermissionHelper.getContext();
+        // 存在自定义变量时 结果依赖于上下文 不做缓存
+        if (variables.size() > 1) {
+            return parseDataFilter(dataPermission, isSelect);
+        }
+        LoginUser user = DataPermissionHelper.getVariable("user");
+        StringBuilder roles = new StringBuilder();
+        for (RoleDTO role : user.getRoles()) {
+            roles.append(role.getRoleId()).append(':').append(role.getDataScope()).append(',');
+        }
+        StringBuilder ignores = new StringBuilder();
+        for (DataColumn dataColumn : dataPermission.value()) {
+            boolean ignore = StringUtils.isNotBlank(dataColumn.permission()) &&
+                CollUtil.contains(user.getMenuPermission(), dataColumn.permission());
+            ignores.append(ignore ? '1' : '0');
+        }
+        DataFilterKey key = new DataFilterKey(user.getTenantId(), user.getUserId(), user.getDeptId(),
+            roles.toString(), ignores.toString(), dataPermission, isSelect);
+        return dataFilterCache.get(key, k -> Optional.ofNullable(parseDataFilter(dataPermission, isSelect))).orElse(null);
+    }
+
+    /**
+     * 构建并解析数据过滤条件的 SQL 表达式
+     *
+     * @param dataPermission 数据权限注解
+     * @param isSelect       是否为查询语句
+     * @return 数据过滤条件的 SQL 表达式 无需过滤时返回 null
+     */
+    private Expression parseDataFilter(DataPermission dataPermission, boolean isSelect) {
+        String dataFilterSql = buildDataFilter(dataPermission, isSelect);
+        if (StringUtils.isBlank(dataFilterSql)) {
+            return null;
+        }
+        try {
+            return CCJSqlParserUtil.parseExpression(dataFilterSql);
+        } catch (JSQLParserException e) {
+            throw new ServiceException("数据权限解析异常 => " + e.getMessage());
+        }
+    }
+
     /**
      * 构建数据过滤条件的 SQL 语句
      *
@@ -186,7 +312,7 @@ public class PlusDataPermissionHandler {
                 }
                 // 忽略数据权限 防止spel表达式内有其他sql查询导致死循环调用
                 String sql = DataPermissionHelper.ignore(() ->
-                    parser.parseExpression(type.getSqlTemplate(), parserContext).getValue(context, String.class)
+                    templateCacheMap.get(type).getValue(context, String.class)
                 );
                 // 解析sql模板并填充
                 conditions.add(joinStr + sql);
@@ -269,6 +395,21 @@ public class PlusDataPermissionHandler {
         return getDataPermission(mapperId) == null;
     }
 
+    /**
+     * 数据过滤条件缓存 key
+     *
+     * @param tenantId       租户id
+     * @param userId         用户id
+     * @param deptId         部门id
+     * @param roles          角色id与数据范围
+     * @param ignores        各数据列是否因权限标识符被忽略
+     * @param dataPermission 数据权限注解
+     * @param isSelect       是否为查询语句
+     */
+    private record DataFilterKey(String tenantId, Long userId, Long deptId, String roles, String ignores,
+                                 DataPermission dataPermission, boolean isSelect) {
+    }
+
     /**
      * 对所有null变量找不到的变量返回默认值
      */
@@ -2,6 +2,8 @@ package org.dromara.common.mybatis.helper;
 
 import cn.hutool.core.convert.Convert;
 import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.dromara.common.core.exception.ServiceException;
@@ -14,9 +16,13 @@ import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 数据库助手
+ * <p>
+ * 数据库类型按数据源实例缓存 只在首次使用某个数据源时读取一次连接元数据
+ * 运行时新增的数据源为新的实例 首次使用时自动解析 缓存弱引用数据源 移除的数据源可被回收
  *
  * @author Lion Li
  */
@@ -25,11 +31,34 @@ public class DataBaseHelper {
 
     private static final DynamicRoutingDataSource DS = SpringUtils.getBean(DynamicRoutingDataSource.class);
 
+    /**
+     * 数据源对应的数据库类型(无法识别的数据库类型缓存为空)
+     */
+    private static final Cache<DataSource, Optional<DataBaseType>> TYPE_CACHE = Caffeine.newBuilder().weakKeys().build();
+
+    static {
+        // 预先解析启动时已加载的全部数据源
+        for (DataSource dataSource : DS.getDataSources().values()) {
+            try {
+                getDataBaseType(dataSource);
+            } catch (ServiceException ignored) {
+                // 数据源暂不可用时 在首次使用时再解析
+            }
+        }
+    }
+
     /**
      * 获取当前数据库类型
      */
     public static DataBaseType getDataBaseType() {
-        DataSource dataSource = DS.determineDataSource();
+        return getDataBaseType(DS.determineDataSource());
+    }
+
+    private static DataBaseType getDataBaseType(DataSource dataSource) {
+        return TYPE_CACHE.get(dataSource, ds -> Optional.ofNullable(resolveDataBaseType(ds))).orElse(null);
+    }
+
+    private static DataBaseType resolveDataBaseType(DataSource dataSource) {
         try (Connection conn = dataSource.getConnection()) {
             DatabaseMetaData metaData = conn.getMetaData();
             String databaseProductName = metaData.getDatabaseProductName();
@@ -60,16 +89,16 @@ public class DataBaseHelper {
         String var = Convert.toStr(var1);
         if (dataBasyType == DataBaseType.SQL_SERVER) {
             // charindex(',100,' , ',0,100,101,') <> 0
-            return "charindex(',%s,' , ','+%s+',') <> 0".formatted(var, var2);
+            return "charindex('," + var + ",' , ','+" + var2 + "+',') <> 0";
         } else if (dataBasyType == DataBaseType.POSTGRE_SQL) {
             // (select strpos(',0,100,101,' , ',100,')) <> 0
-            return "(select strpos(','||%s||',' , ',%s,')) <> 0".formatted(var2, var);
+            return "(select strpos(','||" + var2 + "||',' , '," + var + ",')) <> 0";
         } else if (dataBasyType == DataBaseType.ORACLE) {
             // instr(',0,100,101,' , ',100,') <> 0
-            return "instr(','||%s||',' , ',%s,') <> 0".formatted(var2, var);
+            return "instr(','||" + var2 + "||',' , '," + var + ",') <> 0";
         }
         // find_in_set(100 , '0,100,101')
-        return "find_in_set('%s' , %s) <> 0".formatted(var, var2);
+        return "find_in_set('" + var + "' , " + var2 + ") <> 0";
     }
 
     /**
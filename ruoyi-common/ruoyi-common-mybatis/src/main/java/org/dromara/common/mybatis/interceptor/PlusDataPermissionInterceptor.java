@@ -5,6 +5,8 @@ import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
 import com.baomidou.mybatisplus.extension.plugins.handler.MultiDataPermissionHandler;
 import com.baomidou.mybatisplus.extension.plugins.inner.BaseMultiTableInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.schema.Table;
@@ -21,6 +23,7 @@ import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.dromara.common.mybatis.handler.PlusDataPermissionHandler;
+import org.dromara.common.mybatis.helper.DataPermissionHelper;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -37,6 +40,15 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
 
     private final PlusDataPermissionHandler dataPermissionHandler;
 
+    /**
+     * 改写结果缓存 key 为原始 sql/方法/数据过滤条件签名 value 为改写后的 sql
+     * <p>
+     * 同一方法同一过滤条件的相同 sql 直接复用改写结果 不再经过 JSqlParser 解析与还原
+     */
+    private final Cache<RewriteKey, String> rewriteCache = Caffeine.newBuilder()
+        .maximumSize(4096)
+        .build();
+
     /**
      * 构造函数，初始化 PlusDataPermissionHandler 实例
      *
@@ -100,6 +112,56 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
         }
     }
 
+    /**
+     * 解析并改写查询语句 优先使用改写结果缓存
+     *
+     * @param sql 原始 sql
+     * @param obj 映射语句的 ID
+     * @return 改写后的 sql
+     */
+    @Override
+    public String parserSingle(String sql, Object obj) {
+        return parserCached(sql, (String) obj, true);
+    }
+
+    /**
+     * 解析并改写更新/删除语句 优先使用改写结果缓存
+     *
+     * @param sql 原始 sql
+     * @param obj 映射语句的 ID
+     * @return 改写后的 sql
+     */
+    @Override
+    public String parserMulti(String sql, Object obj) {
+        return parserCached(sql, (String) obj, false);
+    }
+
+    /**
+     * 按 (sql, 方法, 数据过滤条件签名) 缓存改写结果
+     *
+     * @param sql               原始 sql
+     * @param mappedStatementId 映射语句的 ID
+     * @param isSelect          是否为查询语句
+     * @return 改写后的 sql
+     */
+    private String parserCached(String sql, String mappedStatementId, boolean isSelect) {
+        Object signature = dataPermissionHandler.getDataFilterSignature(mappedStatementId, isSelect);
+        // 过滤条件依赖自定义变量 无法复用
+        if (signature == null) {
+            return isSelect ? super.parserSingle(sql, mappedStatementId) : super.parserMulti(sql, mappedStatementId);
+        }
+        RewriteKey key = new RewriteKey(sql, mappedStatementId, signature);
+        String rewritten = rewriteCache.getIfPresent(key);
+        if (rewritten != null) {
+            // 命中缓存不会进入 getSqlSegment 需在此清理当前执行的权限注解
+            DataPermissionHelper.removePermission();
+            return rewritten;
+        }
+        rewritten = isSelect ? super.parserSingle(sql, mappedStatementId) : super.parserMulti(sql, mappedStatementId);
+        rewriteCache.put(key, rewritten);
+        return rewritten;
+    }
+
     /**
      * 处理 SELECT 查询语句中的 WHERE 条件
      *
@@ -177,5 +239,11 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
         final MultiDataPermissionHandler handler = (MultiDataPermissionHandler) dataPermissionHandler;
         return handler.getSqlSegment(table, where, whereSegment);
     }
-}
 
+    /**
+     * 改写结果缓存 key
+     */
+    private record RewriteKey(String sql, String mappedStatementId, Object signature) {
+    }
+
+}
@@ -0,0 +1,182 @@
+package org.dromara.common.mybatis.interceptor;
+
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.ParameterUtils;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.mybatis.core.page.EstimateCountPage;
+import org.dromara.common.mybatis.enums.DataBaseType;
+import org.dromara.common.mybatis.helper.DataBaseHelper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 分页插件 扩展总数查询
+ * <p>
+ * 1. 总数按 (表写入版本, 分页 sql, 参数) 短时缓存 只向后翻页时不再重复 count 本节点对该表的增删改会使缓存失效
+ * 2. 分页对象为 {@link EstimateCountPage} 时 先通过执行计划估算行数(MySQL EXPLAIN rows / PostgreSQL 计划行数)
+ * 估算值不小于 {@link #ESTIMATE_THRESHOLD} 时直接作为总数(不做溢出处理) 否则仍精确统计
+ * <p>
+ * 分页插件位于多租户与数据权限插件之后 缓存键中的 sql 已包含租户与数据权限条件
+ *
+ * @author Lion Li
+ */
+@Slf4j
+public class PlusPaginationInnerInterceptor extends PaginationInnerInterceptor {
+
+    /**
+     * 估算总数的最小行数 小于该值时精确统计
+     */
+    public static final long ESTIMATE_THRESHOLD = 10000L;
+
+    private static final Pattern PG_ROWS = Pattern.compile("rows=(\\d+)");
+
+    /**
+     * 总数缓存 为空时不缓存
+     */
+    private final Cache<CountKey, CountValue> countCache;
+
+    /**
+     * 表写入版本
+     */
+    private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Mapper 命名空间对应的表名
+     */
+    private final Map<String, String> namespaceTables = new ConcurrentHashMap<>();
+
+    /**
+     * @param countCacheTtl 总数缓存有效期(秒) 小于等于 0 时不缓存
+     */
+    public PlusPaginationInnerInterceptor(long countCacheTtl) {
+        this.countCache = countCacheTtl > 0 ? Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(countCacheTtl))
+            .maximumSize(1024)
+            .build() : null;
+    }
+
+    @Override
+    public boolean willDoQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                               ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+        IPage<?> page = ParameterUtils.findPage(parameter).orElse(null);
+        if (page == null || page.getSize() < 0 || !page.searchCount() || resultHandler != Executor.NO_RESULT_HANDLER) {
+            return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+        boolean estimate = page instanceof EstimateCountPage;
+        CountKey key = null;
+        if (countCache != null) {
+            String table = getTable(ms);
+            key = new CountKey(DynamicDataSourceContextHolder.peek(), table, getTableVersion(table).get(), estimate,
+                executor.createCacheKey(ms, parameter, RowBounds.DEFAULT, boundSql));
+            CountValue cached = countCache.getIfPresent(key);
+            if (cached != null) {
+                page.setTotal(cached.total());
+                return cached.estimated() || continuePage(page);
+            }
+        }
+        Long estimated = estimate ? estimateCount(executor, ms, parameter, boundSql) : null;
+        boolean result;
+        boolean estimatedTotal = estimated != null && estimated >= ESTIMATE_THRESHOLD;
+        if (estimatedTotal) {
+            // 估算值可能偏小 不做溢出处理 避免将超出估算页数的正常页码重置为首页
+            page.setTotal(estimated);
+            result = true;
+        } else {
+            result = super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+        if (key != null) {
+            countCache.put(key, new CountValue(page.getTotal(), estimatedTotal));
+        }
+        return result;
+    }
+
+    @Override
+    public void beforeUpdate(Executor executor, MappedStatement ms, Object parameter) throws SQLException {
+        if (countCache != null) {
+            // 写入后递增表版本 使该表的总数缓存失效
+            getTableVersion(getTable(ms)).incrementAndGet();
+        }
+        super.beforeUpdate(executor, ms, parameter);
+    }
+
+    /**
+     * 通过执行计划估算行数 不支持的数据库或执行失败时返回 null
+     */
+    private Long estimateCount(Executor executor, MappedStatement ms, Object parameter, BoundSql boundSql) {
+        DataBaseType dataBaseType = DataBaseHelper.getDataBaseType();
+        if (dataBaseType != DataBaseType.MY_SQL && dataBaseType != DataBaseType.POSTGRE_SQL) {
+            return null;
+        }
+        BoundSql explainSql = new BoundSql(ms.getConfiguration(), "EXPLAIN " + boundSql.getSql(),
+            boundSql.getParameterMappings(), parameter);
+        PluginUtils.mpBoundSql(boundSql).additionalParameters().forEach(explainSql::setAdditionalParameter);
+        try {
+            Connection connection = executor.getTransaction().getConnection();
+            try (PreparedStatement ps = connection.prepareStatement(explainSql.getSql())) {
+                ms.getConfiguration().newParameterHandler(ms, parameter, explainSql).setParameters(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    if (dataBaseType == DataBaseType.MY_SQL) {
+                        // 驱动表的预估扫描行数 * 过滤比例
+                        return (long) (rs.getLong("rows") * rs.getDouble("filtered") / 100);
+                    }
+                    // 计划首行为最外层节点 其 rows 即预估结果行数
+                    Matcher matcher = PG_ROWS.matcher(rs.getString(1));
+                    return matcher.find() ? Long.parseLong(matcher.group(1)) : null;
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("估算总数失败 改为精确统计: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String getTable(MappedStatement ms) {
+        String namespace = StringUtils.substringBeforeLast(ms.getId(), ".");
+        return namespaceTables.computeIfAbsent(namespace, ns -> TableInfoHelper.getTableInfos().stream()
+            .filter(tableInfo -> ns.equals(tableInfo.getCurrentNamespace()))
+            .map(TableInfo::getTableName)
+            .findFirst()
+            .orElse(ns));
+    }
+
+    private AtomicLong getTableVersion(String table) {
+        return tableVersions.computeIfAbsent(table, k -> new AtomicLong());
+    }
+
+    private record CountKey(String dataSource, String table, long version, boolean estimate, CacheKey key) {
+    }
+
+    /**
+     * @param total     总数
+     * @param estimated 是否为估算值
+     */
+    private record CountValue(long total, boolean estimated) {
+    }
+
+}
@@ -1,7 +1,9 @@
 package org.dromara.common.oss.core;
 
-import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.util.IdUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import org.dromara.common.core.constant.Constants;
 import org.dromara.common.core.utils.DateUtils;
 import org.dromara.common.core.utils.StringUtils;
@@ -31,8 +33,14 @@ import java.net.URI;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * S3 存储协议 所有兼容S3协议的云厂商均支持
@@ -42,6 +50,11 @@ import java.util.function.Consumer;
  */
 public class OssClient {
 
+    /**
+     * 分片大小 超过该大小的文件由 CRT 客户端自动并行分片上传
+     */
+    public static final long PART_SIZE = 10 * 1024 * 1024L;
+
     /**
      * 服务商
      */
@@ -67,6 +80,14 @@ public class OssClient {
      */
     private final S3Presigner presigner;
 
+    /**
+     * 预签名 URL 缓存 key为对象键与有效期 过期时间略短于签名有效期
+     */
+    private final Cache<String, PresignedUrl> presignedUrlCache = Caffeine.newBuilder()
+        .maximumSize(10000)
+        .expireAfter(Expiry.<String, PresignedUrl>writing((key, value) -> value.cacheDuration()))
+        .build();
+
     /**
      * 构造方法
      *
@@ -90,7 +111,7 @@ public class OssClient {
                 .endpointOverride(URI.create(getEndpoint()))
                 .region(of())
                 .targetThroughputInGbps(20.0)
-                .minimumPartSizeInBytes(10 * 1025 * 1024L)
+                .minimumPartSizeInBytes(PART_SIZE)
                 .checksumValidationEnabled(false)
                 .forcePathStyle(isStyle)
                 .httpConfiguration(S3CrtHttpConfiguration.builder()
@@ -147,12 +168,15 @@ public class OssClient {
                     .addTransferListener(LoggingTransferListener.create())
                     .source(filePath).build());
 
+            // 上传进行的同时在当前线程计算文件的 MD5
+            String md5 = md5Hex(filePath);
+
             // 等待上传完成并获取上传结果
             CompletedFileUpload uploadResult = fileUpload.completionFuture().join();
             String eTag = uploadResult.response().eTag();
 
             // 提取上传结果中的 ETag，并构建一个自定义的 UploadResult 对象
-            return UploadResult.builder().url(getUrl() + StringUtils.SLASH + key).filename(key).eTag(eTag).build();
+            return UploadResult.builder().url(getUrl() + StringUtils.SLASH + key).filename(key).eTag(eTag).md5(md5).build();
         } catch (Exception e) {
             // 捕获异常并抛出自定义异常
             throw new OssException("上传文件失败，请检查配置信息:[" + e.getMessage() + "]");
@@ -162,8 +186,21 @@ public class OssClient {
         }
     }
 
+    /**
+     * 计算本地文件的 MD5(十六进制)
+     */
+    private static String md5Hex(Path filePath) throws Exception {
+        try (DigestInputStream digestStream = new DigestInputStream(Files.newInputStream(filePath), MessageDigest.getInstance("MD5"))) {
+            digestStream.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(digestStream.getMessageDigest().digest());
+        }
+    }
+
     /**
      * 上传 InputStream 到 Amazon S3
+     * <p>
+     * 输入流直接写入请求体 边上传边计算 MD5 大文件由 CRT 客户端并行分片上传 内存占用与文件大小无关
+     * 长度未知时先写入临时文件再上传
      *
      * @param inputStream 要上传的输入流
      * @param key         在 Amazon S3 中的对象键
@@ -173,9 +210,15 @@ public class OssClient {
      * @throws OssException 如果上传失败，抛出自定义异常
      */
     public UploadResult upload(InputStream inputStream, String key, Long length, String contentType) {
-        // 如果输入流不是 ByteArrayInputStream，则将其读取为字节数组再创建 ByteArrayInputStream
-        if (!(inputStream instanceof ByteArrayInputStream)) {
-            inputStream = new ByteArrayInputStream(IoUtil.readBytes(inputStream));
+        if (length == null) {
+            Path tempFilePath = FileUtils.createTempFile().toPath();
+            try {
+                Files.copy(inputStream, tempFilePath, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                FileUtils.del(tempFilePath);
+                throw new OssException("上传文件失败，读取输入流异常:[" + e.getMessage() + "]");
+            }
+            return upload(tempFilePath, key, null, contentType);
         }
         try {
             // 创建异步请求体（length如果为空会报错）
@@ -197,15 +240,17 @@ public class OssClient {
                             .build())
                     .build());
 
-            // 将输入流写入请求体
-            body.writeInputStream(inputStream);
+            // 将输入流写入请求体 写入的同时计算 MD5
+            DigestInputStream digestStream = new DigestInputStream(inputStream, MessageDigest.getInstance("MD5"));
+            body.writeInputStream(digestStream);
 
             // 等待文件上传操作完成
             CompletedUpload uploadResult = upload.completionFuture().join();
             String eTag = uploadResult.response().eTag();
+            String md5 = HexFormat.of().formatHex(digestStream.getMessageDigest().digest());
 
             // 提取上传结果中的 ETag，并构建一个自定义的 UploadResult 对象
-            return UploadResult.builder().url(getUrl() + StringUtils.SLASH + key).filename(key).eTag(eTag).build();
+            return UploadResult.builder().url(getUrl() + StringUtils.SLASH + key).filename(key).eTag(eTag).md5(md5).build();
         } catch (Exception e) {
             throw new OssException("上传文件失败，请检查配置信息:[" + e.getMessage() + "]");
         }
@@ -270,6 +315,46 @@ public class OssClient {
         }
     }
 
+    /**
+     * 按字节范围下载文件从 Amazon S3 到 输出流 (HTTP Range 请求 不落盘)
+     *
+     * @param key      文件在 Amazon S3 中的对象键
+     * @param offset   起始字节位置
+     * @param length   下载的字节数 为空时下载到文件末尾
+     * @param out      输出流
+     * @param consumer 自定义处理逻辑 参数为本次下载的字节数
+     * @throws OssException 如果下载失败，抛出自定义异常
+     */
+    public void download(String key, long offset, Long length, OutputStream out, Consumer<Long> consumer) {
+        String range = "bytes=" + offset + "-" + (length != null ? String.valueOf(offset + length - 1) : "");
+        try (ResponseInputStream<GetObjectResponse> responseStream = client.getObject(
+            x -> x.bucket(properties.getBucketName()).key(key).range(range).build(),
+            AsyncResponseTransformer.toBlockingInputStream()).join()) {
+            if (consumer != null) {
+                consumer.accept(responseStream.response().contentLength());
+            }
+            responseStream.transferTo(out);
+        } catch (Exception e) {
+            throw new OssException("文件下载失败，错误信息:[" + e.getMessage() + "]");
+        }
+    }
+
+    /**
+     * 获取文件大小
+     *
+     * @param key 文件在 Amazon S3 中的对象键
+     * @return 文件字节数
+     * @throws OssException 如果文件不存在或查询失败，抛出自定义异常
+     */
+    public long getObjectSize(String key) {
+        try {
+            return client.headObject(x -> x.bucket(properties.getBucketName()).key(key).build())
+                .join().contentLength();
+        } catch (Exception e) {
+            throw new OssException("获取文件信息失败，错误信息:[" + e.getMessage() + "]");
+        }
+    }
+
     /**
      * 删除云存储服务中指定路径下文件
      *
@@ -288,12 +373,44 @@ public class OssClient {
 
     /**
      * 获取私有URL链接
+     * <p>
+     * 同一对象在有效期内复用已生成的链接 剩余有效期不少于原有效期的 1/4(至少 5 秒)
      *
      * @param objectKey   对象KEY
      * @param expiredTime 链接授权到期时间
      */
     public String getPrivateUrl(String objectKey, Duration expiredTime) {
-        // 使用 AWS S3 预签名 URL 的生成器 获取对象的预签名 URL
+        return presignedUrlCache.get(objectKey + "#" + expiredTime.toSeconds(),
+            k -> presign(objectKey, expiredTime)).url();
+    }
+
+    /**
+     * 批量获取私有URL链接 缓存未命中的对象并行签名
+     *
+     * @param objectKeys  对象KEY集合
+     * @param expiredTime 链接授权到期时间
+     * @return key为对象KEY value为私有URL链接
+     */
+    public Map<String, String> getPrivateUrls(Collection<String> objectKeys, Duration expiredTime) {
+        Map<String, String> urls = new ConcurrentHashMap<>(objectKeys.size());
+        List<String> misses = new ArrayList<>();
+        for (String objectKey : objectKeys) {
+            PresignedUrl cached = presignedUrlCache.getIfPresent(objectKey + "#" + expiredTime.toSeconds());
+            if (cached != null) {
+                urls.put(objectKey, cached.url());
+            } else {
+                misses.add(objectKey);
+            }
+        }
+        Stream<String> stream = misses.size() > 1 ? misses.parallelStream() : misses.stream();
+        stream.forEach(objectKey -> urls.put(objectKey, getPrivateUrl(objectKey, expiredTime)));
+        return urls;
+    }
+
+    /**
+     * 使用 AWS S3 预签名 URL 的生成器 获取对象的预签名 URL
+     */
+    private PresignedUrl presign(String objectKey, Duration expiredTime) {
         URL url = presigner.presignGetObject(
                 x -> x.signatureDuration(expiredTime)
                     .getObjectRequest(
@@ -302,7 +419,22 @@ public class OssClient {
                             .build())
                     .build())
             .url();
-        return url.toString();
+        // 预留 1/4 有效期 避免返回给客户端时链接即将过期
+        Duration margin = expiredTime.dividedBy(4);
+        if (margin.compareTo(Duration.ofSeconds(5)) < 0) {
+            margin = Duration.ofSeconds(5);
+        }
+        Duration cacheDuration = expiredTime.minus(margin);
+        return new PresignedUrl(url.toString(), cacheDuration.isNegative() ? Duration.ZERO : cacheDuration);
+    }
+
+    /**
+     * 已生成的预签名 URL
+     *
+     * @param url           预签名 URL
+     * @param cacheDuration 缓存时长
+     */
+    private record PresignedUrl(String url, Duration cacheDuration) {
     }
 
     /**
@@ -342,21 +474,37 @@ public class OssClient {
         return upload(file.toPath(), getPath(properties.getPrefix(), suffix), null, FileUtils.getMimeType(suffix));
     }
 
+    /**
+     * 上传本地文件到 Amazon S3，使用指定的后缀构造对象键 (上传完成后删除本地文件)
+     * <p>
+     * 适用于已落盘的文件(如容器保存的上传临时文件) 由 CRT 客户端直接读取文件并行分片上传
+     *
+     * @param filePath    本地文件路径
+     * @param suffix      对象键的后缀
+     * @param contentType 文件内容类型
+     * @return UploadResult 包含上传后的文件信息
+     * @throws OssException 如果上传失败，抛出自定义异常
+     */
+    public UploadResult uploadSuffix(Path filePath, String suffix, String contentType) {
+        return upload(filePath, getPath(properties.getPrefix(), suffix), null, contentType);
+    }
+
     /**
      * 获取文件输入流
+     * <p>
+     * 直接读取响应数据 不经过临时文件 使用完毕后需关闭输入流以释放连接
      *
      * @param path 完整文件路径
      * @return 输入流
      */
     public InputStream getObjectContent(String path) throws IOException {
-        // 下载文件到临时目录
-        Path tempFilePath = fileDownload(path);
-        // 创建输入流
-        InputStream inputStream = Files.newInputStream(tempFilePath);
-        // 删除临时文件
-        FileUtils.del(tempFilePath);
-        // 返回对象内容的输入流
-        return inputStream;
+        try {
+            return client.getObject(
+                x -> x.bucket(properties.getBucketName()).key(removeBaseUrl(path)).build(),
+                AsyncResponseTransformer.toBlockingInputStream()).join();
+        } catch (Exception e) {
+            throw new IOException("获取文件输入流失败:[" + e.getMessage() + "]", e);
+        }
     }
 
     /**
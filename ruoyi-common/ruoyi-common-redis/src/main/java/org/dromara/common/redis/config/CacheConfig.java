@@ -1,15 +1,14 @@
 package org.dromara.common.redis.config;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import org.dromara.common.redis.config.properties.CaffeineProperties;
+import org.dromara.common.redis.listener.CacheInvalidateTopicListener;
 import org.dromara.common.redis.manager.PlusSpringCacheManager;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 
-import java.util.concurrent.TimeUnit;
-
 /**
  * 缓存配置
  *
@@ -17,29 +16,23 @@ import java.util.concurrent.TimeUnit;
  */
 @AutoConfiguration
 @EnableCaching
+@EnableConfigurationProperties(CaffeineProperties.class)
 public class CacheConfig {
 
     /**
-     * caffeine 本地缓存处理器
+     * 自定义缓存管理器 整合spring-cache
      */
     @Bean
-    public Cache<Object, Object> caffeine() {
-        return Caffeine.newBuilder()
-            // 设置最后一次写入或访问后经过固定时间过期
-            .expireAfterWrite(30, TimeUnit.SECONDS)
-            // 初始的缓存空间大小
-            .initialCapacity(100)
-            // 缓存的最大条数
-            .maximumSize(1000)
-            .build();
+    public CacheManager cacheManager() {
+        return new PlusSpringCacheManager();
     }
 
     /**
-     * 自定义缓存管理器 整合spring-cache
+     * 一级缓存失效主题订阅监听器
      */
     @Bean
-    public CacheManager cacheManager() {
-        return new PlusSpringCacheManager();
+    public CacheInvalidateTopicListener cacheInvalidateTopicListener() {
+        return new CacheInvalidateTopicListener();
     }
 
 }
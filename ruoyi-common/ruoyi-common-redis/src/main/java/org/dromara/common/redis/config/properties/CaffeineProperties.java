@@ -0,0 +1,110 @@
+package org.dromara.common.redis.config.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caffeine 一级缓存配置属性
+ * <p>
+ * 每个缓存组使用独立的 Caffeine 实例 未单独配置的缓存组使用默认配置
+ *
+ * @author Lion Li
+ */
+@Data
+@ConfigurationProperties(prefix = "caffeine")
+public class CaffeineProperties {
+
+    /**
+     * 初始的缓存空间大小
+     */
+    private int initialCapacity = 100;
+
+    /**
+     * 缓存的最大条数
+     */
+    private long maximumSize = 1000;
+
+    /**
+     * 写入后经过固定时间过期
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+
+    /**
+     * 写入后经过固定时间异步刷新(为空则不刷新 需小于过期时间)
+     */
+    private Duration refreshAfterWrite;
+
+    /**
+     * 按缓存组名称单独配置(名称不含 # 参数与租户前缀 例如 sys_dict)
+     */
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    /**
+     * 获取缓存组对应的配置 未配置的属性使用默认值
+     *
+     * @param cacheName 缓存组名称(可能带有租户前缀)
+     */
+    public CacheSpec getSpec(String cacheName) {
+        CacheSpec spec = caches.get(cacheName);
+        if (spec == null) {
+            for (Map.Entry<String, CacheSpec> entry : caches.entrySet()) {
+                if (cacheName.endsWith(":" + entry.getKey())) {
+                    spec = entry.getValue();
+                    break;
+                }
+            }
+        }
+        CacheSpec result = new CacheSpec();
+        result.setInitialCapacity(initialCapacity);
+        result.setMaximumSize(maximumSize);
+        result.setExpireAfterWrite(expireAfterWrite);
+        result.setRefreshAfterWrite(refreshAfterWrite);
+        if (spec != null) {
+            if (spec.getInitialCapacity() != null) {
+                result.setInitialCapacity(spec.getInitialCapacity());
+            }
+            if (spec.getMaximumSize() != null) {
+                result.setMaximumSize(spec.getMaximumSize());
+            }
+            if (spec.getExpireAfterWrite() != null) {
+                result.setExpireAfterWrite(spec.getExpireAfterWrite());
+            }
+            if (spec.getRefreshAfterWrite() != null) {
+                result.setRefreshAfterWrite(spec.getRefreshAfterWrite());
+            }
+        }
+        return result;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class CacheSpec {
+
+        /**
+         * 初始的缓存空间大小
+         */
+        private Integer initialCapacity;
+
+        /**
+         * 缓存的最大条数
+         */
+        private Long maximumSize;
+
+        /**
+         * 写入后经过固定时间过期
+         */
+        private Duration expireAfterWrite;
+
+        /**
+         * 写入后经过固定时间异步刷新
+         */
+        private Duration refreshAfterWrite;
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package org.dromara.common.redis.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 一级缓存失效通知的dto
+ *
+ * @author Lion Li
+ */
+@Data
+@NoArgsConstructor
+public class CacheInvalidateMessageDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 发送通知的节点id(用于忽略自身发出的消息)
+     */
+    private String nodeId;
+
+    /**
+     * 缓存组名称
+     */
+    private String cacheName;
+
+    /**
+     * 缓存key 为空则清空整个缓存组
+     */
+    private String key;
+
+    public CacheInvalidateMessageDto(String nodeId, String cacheName, String key) {
+        this.nodeId = nodeId;
+        this.cacheName = cacheName;
+        this.key = key;
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.dromara.common.redis.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.NodeUtils;
+import org.dromara.common.redis.dto.CacheInvalidateMessageDto;
+import org.dromara.common.redis.manager.CaffeineCacheDecorator;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.redisson.api.RTopic;
+import org.redisson.api.listener.BaseStatusListener;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+
+/**
+ * 一级缓存失效主题订阅监听器
+ * <p>
+ * 接收其他节点发出的 put/evict/clear 通知 清除本地 Caffeine 中对应的数据
+ *
+ * @author Lion Li
+ */
+@Slf4j
+public class CacheInvalidateTopicListener implements ApplicationRunner, Ordered {
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        RTopic topic = RedisUtils.getClient().getTopic(CaffeineCacheDecorator.INVALIDATE_TOPIC);
+        topic.addListener(CacheInvalidateMessageDto.class, (channel, message) -> {
+            if (NodeUtils.NODE_ID.equals(message.getNodeId())) {
+                return;
+            }
+            CaffeineCacheDecorator.invalidateLocal(message.getCacheName(), message.getKey());
+        });
+        topic.addListener(new BaseStatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                // 订阅(含断线重连)期间可能丢失通知 直接清空本地缓存保证一致
+                CaffeineCacheDecorator.invalidateLocalAll();
+            }
+        });
+        log.info("初始化一级缓存失效主题订阅监听器成功");
+    }
+
+    @Override
+    public int getOrder() {
+        return -1;
+    }
+}
@@ -1,26 +1,85 @@
 package org.dromara.common.redis.manager;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.dromara.common.core.constant.GlobalConstants;
+import org.dromara.common.core.utils.NodeUtils;
 import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.redis.config.properties.CaffeineProperties;
+import org.dromara.common.redis.dto.CacheInvalidateMessageDto;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.redisson.api.RMap;
+import org.redisson.spring.cache.NullValue;
 import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Cache 装饰器模式(用于扩展 Caffeine 一级缓存)
+ * <p>
+ * 每个缓存组使用独立的 Caffeine 实例 大小与过期时间由 {@link CaffeineProperties} 按名称配置
+ * <p>
+ * 写入/删除/清空操作会通过 redis 主题广播失效通知 保证集群内各节点一级缓存一致
  *
  * @author LionLi
  */
 public class CaffeineCacheDecorator implements Cache {
 
-    private static final com.github.benmanes.caffeine.cache.Cache<Object, Object>
-        CAFFEINE = SpringUtils.getBean("caffeine");
+    /**
+     * 一级缓存失效通知主题
+     */
+    public static final String INVALIDATE_TOPIC = GlobalConstants.GLOBAL_REDIS_KEY + "cache_invalidate";
+
+    private static final CaffeineProperties PROPERTIES = SpringUtils.getBean(CaffeineProperties.class);
+
+    /**
+     * 一级缓存实例 key为缓存组名称
+     */
+    private static final Map<String, com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper>>
+        LOCAL_CACHES = new ConcurrentHashMap<>();
 
     private final String name;
     private final Cache cache;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> caffeine;
 
     public CaffeineCacheDecorator(String name, Cache cache) {
         this.name = name;
         this.cache = cache;
+        this.caffeine = LOCAL_CACHES.computeIfAbsent(name, k -> createLocalCache(k, cache));
+    }
+
+    /**
+     * 按缓存组配置创建 Caffeine 实例 并注册命中率等指标
+     */
+    private static com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> createLocalCache(String name, Cache cache) {
+        CaffeineProperties.CacheSpec spec = PROPERTIES.getSpec(name);
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .initialCapacity(spec.getInitialCapacity())
+            .maximumSize(spec.getMaximumSize())
+            .recordStats();
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> caffeine;
+        if (spec.getRefreshAfterWrite() != null) {
+            // 异步从 redis 刷新 刷新期间仍返回旧值
+            caffeine = builder.refreshAfterWrite(spec.getRefreshAfterWrite()).build(cache::get);
+        } else {
+            caffeine = builder.build();
+        }
+        MeterRegistry registry = SpringUtils.getBeanFactory().getBeanProvider(MeterRegistry.class).getIfAvailable();
+        if (registry != null) {
+            CaffeineCacheMetrics.monitor(registry, caffeine, name);
+        }
+        return caffeine;
     }
 
     @Override
@@ -33,33 +92,91 @@ public class CaffeineCacheDecorator implements Cache {
         return cache.getNativeCache();
     }
 
-    public String getUniqueKey(Object key) {
-        return name + ":" + key;
+    /**
+     * 获取一级缓存实例
+     */
+    public com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> getLocalCache() {
+        return caffeine;
     }
 
     @Override
     public ValueWrapper get(Object key) {
-        Object o = CAFFEINE.get(getUniqueKey(key), k -> cache.get(key));
-        return (ValueWrapper) o;
+        return caffeine.get(key, cache::get);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(Object key, Class<T> type) {
-        Object o = CAFFEINE.get(getUniqueKey(key), k -> cache.get(key, type));
-        return (T) o;
+        ValueWrapper wrapper = caffeine.get(key, cache::get);
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * 批量获取 一级缓存未命中的部分通过一次批量请求从 redis 读取并回填一级缓存
+     *
+     * @param keys 缓存key集合
+     * @return 命中的缓存值 key为缓存key (不包含未命中与空值)
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> result = new HashMap<>(keys.size());
+        Set<Object> misses = new HashSet<>();
+        for (Object key : keys) {
+            ValueWrapper wrapper = caffeine.getIfPresent(key);
+            if (wrapper == null) {
+                misses.add(key);
+            } else if (wrapper.get() != null) {
+                result.put(key, wrapper.get());
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+        if (cache.getNativeCache() instanceof RMap<?, ?> map) {
+            // map key 使用字符串编码 返回结果的 key 均为字符串 需按调用方传入的原始 key 回填与返回
+            Map<Object, Object> values = ((RMap<Object, Object>) map).getAll(misses);
+            for (Object key : misses) {
+                Object value = values.getOrDefault(key, values.get(String.valueOf(key)));
+                if (value == null) {
+                    continue;
+                }
+                Object v = value instanceof NullValue ? null : value;
+                caffeine.put(key, new SimpleValueWrapper(v));
+                if (v != null) {
+                    result.put(key, v);
+                }
+            }
+        } else {
+            for (Object key : misses) {
+                ValueWrapper wrapper = get(key);
+                if (wrapper != null && wrapper.get() != null) {
+                    result.put(key, wrapper.get());
+                }
+            }
+        }
+        return result;
     }
 
     @Override
     public void put(Object key, Object value) {
-        CAFFEINE.invalidate(getUniqueKey(key));
         cache.put(key, value);
+        caffeine.invalidate(key);
+        publishInvalidate(key);
     }
 
     @Override
     public ValueWrapper putIfAbsent(Object key, Object value) {
-        CAFFEINE.invalidate(getUniqueKey(key));
-        return cache.putIfAbsent(key, value);
+        ValueWrapper wrapper = cache.putIfAbsent(key, value);
+        caffeine.invalidate(key);
+        publishInvalidate(key);
+        return wrapper;
     }
 
     @Override
@@ -70,27 +187,77 @@ public class CaffeineCacheDecorator implements Cache {
     @Override
     public boolean evictIfPresent(Object key) {
         boolean b = cache.evictIfPresent(key);
-        if (b) {
-            CAFFEINE.invalidate(getUniqueKey(key));
-        }
+        // redis 中已不存在(如已过期)时 本地与其他节点的一级缓存仍可能持有旧值 同样需要清除
+        caffeine.invalidate(key);
+        publishInvalidate(key);
         return b;
     }
 
     @Override
     public void clear() {
         cache.clear();
+        caffeine.invalidateAll();
+        publishInvalidate(null);
     }
 
     @Override
     public boolean invalidate() {
-        return cache.invalidate();
+        boolean b = cache.invalidate();
+        caffeine.invalidateAll();
+        publishInvalidate(null);
+        return b;
     }
 
+    /**
+     * 同步加载(对应 @Cacheable(sync = true))
+     * <p>
+     * 本地由 Caffeine 合并同一 key 的并发加载 redis 层由 RedissonCache 按 key 加分布式锁
+     * 集群内同一时刻只有一个节点执行 valueLoader 其余节点等待后直接读取 redis 中的结果
+     */
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(Object key, Callable<T> valueLoader) {
-        Object o = CAFFEINE.get(getUniqueKey(key), k -> cache.get(key, valueLoader));
-        return (T) o;
+        ValueWrapper wrapper = caffeine.get(key, k -> new SimpleValueWrapper(cache.get(k, valueLoader)));
+        return wrapper == null ? null : (T) wrapper.get();
+    }
+
+    /**
+     * 广播一级缓存失效通知
+     *
+     * @param key 缓存key 为空则清空整个缓存组
+     */
+    private void publishInvalidate(Object key) {
+        String k = key == null ? null : String.valueOf(key);
+        RedisUtils.getClient().getTopic(INVALIDATE_TOPIC)
+            .publishAsync(new CacheInvalidateMessageDto(NodeUtils.NODE_ID, name, k));
+    }
+
+    /**
+     * 清除本地一级缓存
+     *
+     * @param cacheName 缓存组名称
+     * @param key       缓存key 为空则清空整个缓存组
+     */
+    public static void invalidateLocal(String cacheName, String key) {
+        com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> caffeine = LOCAL_CACHES.get(cacheName);
+        if (caffeine == null) {
+            return;
+        }
+        if (key == null) {
+            caffeine.invalidateAll();
+            return;
+        }
+        // 消息中的key为字符串 非字符串类型的key(如 Long)按字符串形式匹配
+        if (caffeine.asMap().remove(key) == null) {
+            caffeine.asMap().keySet().removeIf(k -> key.equals(String.valueOf(k)));
+        }
+    }
+
+    /**
+     * 清空本地全部一级缓存
+     */
+    public static void invalidateLocalAll() {
+        LOCAL_CACHES.values().forEach(com.github.benmanes.caffeine.cache.Cache::invalidateAll);
     }
 
 }
@@ -0,0 +1,196 @@
+package org.dromara.common.redis.manager;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.constant.GlobalConstants;
+import org.dromara.common.core.utils.NodeUtils;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.redisson.api.RBatch;
+import org.redisson.api.RMapAsync;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 长连接在线状态注册表(用于 WebSocket/SSE 等按节点路由消息)
+ * <p>
+ * redis 中按用户记录连接所在节点 {@code 用户 -> 连接id -> 节点id} 支持同一用户多个连接(多标签页/多端)
+ * <p>
+ * 各节点定时上报心跳 已下线节点的连接记录在路由时惰性清理
+ * 定向消息只发布到持有目标用户连接的节点主题 避免所有节点都收到并反序列化
+ *
+ * @author Lion Li
+ */
+@Slf4j
+public class PresenceManager {
+
+    /**
+     * 节点心跳间隔
+     */
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(10);
+
+    /**
+     * 超过该时间未上报心跳的节点视为下线
+     */
+    private static final Duration NODE_TIMEOUT = HEARTBEAT_INTERVAL.multipliedBy(3);
+
+    private final String prefix;
+    private final String nodesKey;
+
+    /**
+     * 最近一次读取到的存活节点
+     */
+    private volatile Set<String> liveNodes = Set.of(NodeUtils.NODE_ID);
+
+    /**
+     * @param channel 连接类型名称 如 websocket/sse
+     */
+    public PresenceManager(String channel) {
+        this.prefix = GlobalConstants.GLOBAL_REDIS_KEY + channel + ":";
+        this.nodesKey = prefix + "nodes";
+    }
+
+    /**
+     * 开始定时上报当前节点心跳
+     *
+     * @param scheduler 定时任务线程池
+     */
+    public void start(ScheduledExecutorService scheduler) {
+        heartbeat();
+        long interval = HEARTBEAT_INTERVAL.toMillis();
+        scheduler.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 当前节点下线 其他节点不再向当前节点路由消息
+     */
+    public void stop() {
+        try {
+            RedisUtils.delCacheScoredSet(nodesKey, NodeUtils.NODE_ID);
+        } catch (Exception e) {
+            log.warn("节点下线失败 key: {}, error: {}", nodesKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 获取指定节点的消息主题
+     *
+     * @param nodeId 节点id
+     * @return 主题名称
+     */
+    public String getNodeTopic(String nodeId) {
+        return prefix + "node:" + nodeId;
+    }
+
+    /**
+     * 获取当前节点的消息主题
+     */
+    public String getNodeTopic() {
+        return getNodeTopic(NodeUtils.NODE_ID);
+    }
+
+    /**
+     * 登记连接上线
+     *
+     * @param userId       用户id
+     * @param connectionId 连接id
+     */
+    public void online(Long userId, String connectionId) {
+        RedisUtils.setCacheMapValue(getUserKey(userId), connectionId, NodeUtils.NODE_ID);
+    }
+
+    /**
+     * 登记连接下线
+     *
+     * @param userId       用户id
+     * @param connectionId 连接id
+     */
+    public void offline(Long userId, String connectionId) {
+        RedisUtils.delCacheMapValue(getUserKey(userId), connectionId);
+    }
+
+    /**
+     * 按持有连接的节点对用户分组(单次批量请求)
+     *
+     * @param userIds 用户id集合
+     * @return key为节点id value为该节点上有连接的用户id 不在线的用户不包含在内
+     */
+    public Map<String, List<Long>> route(Collection<Long> userIds) {
+        Map<String, List<Long>> routes = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return routes;
+        }
+        List<Long> users = new ArrayList<>(new LinkedHashSet<>(userIds));
+        List<String> keys = new ArrayList<>(users.size());
+        for (Long userId : users) {
+            keys.add(getUserKey(userId));
+        }
+        List<Map<String, String>> connections = RedisUtils.getMultiCacheMap(keys);
+        Map<String, Set<String>> stale = new HashMap<>();
+        Set<String> nodes = liveNodes;
+        boolean refreshed = false;
+        for (int i = 0; i < users.size(); i++) {
+            Map<String, String> userConnections = connections.get(i);
+            if (userConnections == null || userConnections.isEmpty()) {
+                continue;
+            }
+            Set<String> userNodes = new HashSet<>();
+            for (Map.Entry<String, String> entry : userConnections.entrySet()) {
+                String nodeId = entry.getValue();
+                if (!nodes.contains(nodeId) && !refreshed) {
+                    // 本地缓存中没有的节点可能是新加入的 重新读取一次存活节点
+                    nodes = refreshLiveNodes();
+                    refreshed = true;
+                }
+                if (nodes.contains(nodeId)) {
+                    userNodes.add(nodeId);
+                } else {
+                    stale.computeIfAbsent(keys.get(i), k -> new HashSet<>()).add(entry.getKey());
+                }
+            }
+            for (String nodeId : userNodes) {
+                routes.computeIfAbsent(nodeId, k -> new ArrayList<>()).add(users.get(i));
+            }
+        }
+        if (!stale.isEmpty()) {
+            removeStale(stale);
+        }
+        return routes;
+    }
+
+    private void heartbeat() {
+        try {
+            long now = System.currentTimeMillis();
+            RedisUtils.addCacheScoredSet(nodesKey, NodeUtils.NODE_ID, now);
+            RedisUtils.delCacheScoredSetByScore(nodesKey, 0, now - NODE_TIMEOUT.toMillis());
+            refreshLiveNodes();
+        } catch (Exception e) {
+            log.warn("节点心跳上报失败 key: {}, error: {}", nodesKey, e.getMessage());
+        }
+    }
+
+    private Set<String> refreshLiveNodes() {
+        Set<String> nodes = new HashSet<>(RedisUtils.<String>getCacheScoredSetRange(nodesKey, 0, -1, false));
+        nodes.add(NodeUtils.NODE_ID);
+        liveNodes = nodes;
+        return nodes;
+    }
+
+    /**
+     * 清理已下线节点遗留的连接记录
+     */
+    private void removeStale(Map<String, Set<String>> stale) {
+        RBatch batch = RedisUtils.getClient().createBatch();
+        stale.forEach((key, connectionIds) -> {
+            RMapAsync<String, String> map = batch.getMap(key);
+            map.fastRemoveAsync(connectionIds.toArray(new String[0]));
+        });
+        batch.executeAsync();
+    }
+
+    private String getUserKey(Long userId) {
+        return prefix + "presence:" + userId;
+    }
+
+}
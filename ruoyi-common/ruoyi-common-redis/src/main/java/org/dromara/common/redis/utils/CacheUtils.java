@@ -3,8 +3,14 @@ package org.dromara.common.redis.utils;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.redis.manager.CaffeineCacheDecorator;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * 缓存操作工具类
@@ -28,6 +34,31 @@ public class CacheUtils {
         return wrapper != null ? (T) wrapper.get() : null;
     }
 
+    /**
+     * 批量获取缓存值 一级缓存未命中的部分单次批量请求 redis
+     *
+     * @param cacheNames 缓存组名称
+     * @param keys       缓存key集合
+     * @return 命中的缓存值 不包含未命中的key
+     */
+    public static <K, T> Map<K, T> getAll(String cacheNames, Collection<K> keys) {
+        Cache cache = CACHE_MANAGER.getCache(cacheNames);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        if (cache instanceof CaffeineCacheDecorator caffeine) {
+            return (Map<K, T>) caffeine.getAll(keys);
+        }
+        Map<K, T> result = new HashMap<>(keys.size());
+        for (K key : keys) {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                result.put(key, (T) wrapper.get());
+            }
+        }
+        return result;
+    }
+
     /**
      * 保存缓存值
      *
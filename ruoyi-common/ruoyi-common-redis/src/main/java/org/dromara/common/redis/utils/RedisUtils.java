@@ -7,6 +7,7 @@ import org.redisson.api.*;
 import org.redisson.api.options.KeysScanOptions;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -154,6 +155,52 @@ public class RedisUtils {
         batch.execute();
     }
 
+    /**
+     * 缓存基本的对象 已存在则保留当前 TTL 不存在则使用指定有效期(单次 lua 原子操作)
+     *
+     * @param key      缓存的键值
+     * @param value    缓存的值
+     * @param duration 不存在时设置的有效期
+     */
+    public static <T> void setCacheObjectKeepTtl(final String key, final T value, final Duration duration) {
+        String script = """
+            local ttl = redis.call('pttl', KEYS[1]);
+            if ttl == -2 then
+                redis.call('set', KEYS[1], ARGV[1], 'px', ARGV[2]);
+            elseif ttl == -1 then
+                redis.call('set', KEYS[1], ARGV[1]);
+            else
+                redis.call('set', KEYS[1], ARGV[1], 'px', ttl);
+            end;
+            return 1;
+            """;
+        CLIENT.getScript().eval(RScript.Mode.READ_WRITE, script, RScript.ReturnType.BOOLEAN,
+            List.of(key), value, duration.toMillis());
+    }
+
+    /**
+     * 如果存在则设置并保留当前 TTL 返回 true 不存在则返回 false(单次 lua 原子操作)
+     *
+     * @param key   缓存的键值
+     * @param value 缓存的值
+     * @return set成功或失败
+     */
+    public static <T> boolean setObjectIfExistsKeepTtl(final String key, final T value) {
+        String script = """
+            local ttl = redis.call('pttl', KEYS[1]);
+            if ttl == -2 then
+                return 0;
+            elseif ttl == -1 then
+                redis.call('set', KEYS[1], ARGV[1]);
+            else
+                redis.call('set', KEYS[1], ARGV[1], 'px', ttl);
+            end;
+            return 1;
+            """;
+        return CLIENT.getScript().eval(RScript.Mode.READ_WRITE, script, RScript.ReturnType.BOOLEAN,
+            List.of(key), value);
+    }
+
     /**
      * 如果不存在则设置 并返回 true 如果存在则返回 false
      *
@@ -225,6 +272,21 @@ public class RedisUtils {
         return rBucket.get();
     }
 
+    /**
+     * 批量获得缓存的基本对象(单次批量请求)
+     *
+     * @param keys 缓存键值集合
+     * @return 与键值顺序一致的数据 不存在的为 null
+     */
+    public static <T> List<T> getMultiCacheObject(final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        RBatch batch = CLIENT.createBatch();
+        keys.forEach(key -> batch.getBucket(key).getAsync());
+        return new ArrayList<>((List<T>) batch.execute().getResponses());
+    }
+
     /**
      * 获得key剩余存活时间
      *
@@ -376,6 +438,56 @@ public class RedisUtils {
         return rSet.readAll();
     }
 
+    /**
+     * 追加有序集合数据 已存在则更新分值
+     *
+     * @param key   缓存的键值
+     * @param data  待缓存的数据
+     * @param score 分值
+     */
+    public static <T> boolean addCacheScoredSet(final String key, final T data, final double score) {
+        RScoredSortedSet<T> rSet = CLIENT.getScoredSortedSet(key);
+        return rSet.add(score, data);
+    }
+
+    /**
+     * 删除有序集合数据
+     *
+     * @param key  缓存的键值
+     * @param data 待删除的数据
+     */
+    public static <T> boolean delCacheScoredSet(final String key, final T data) {
+        RScoredSortedSet<T> rSet = CLIENT.getScoredSortedSet(key);
+        return rSet.remove(data);
+    }
+
+    /**
+     * 按分值范围删除有序集合数据(包含边界)
+     *
+     * @param key        缓存的键值
+     * @param startScore 起始分值
+     * @param endScore   截止分值
+     * @return 删除的数量
+     */
+    public static int delCacheScoredSetByScore(final String key, final double startScore, final double endScore) {
+        RScoredSortedSet<Object> rSet = CLIENT.getScoredSortedSet(key);
+        return rSet.removeRangeByScore(startScore, true, endScore, true);
+    }
+
+    /**
+     * 获得有序集合的数据(按排名范围 按分值排序)
+     *
+     * @param key      缓存的键值
+     * @param start    起始下标
+     * @param end      截止下标(-1 表示最后一个)
+     * @param reversed 是否按分值倒序
+     * @return 缓存键值对应的数据
+     */
+    public static <T> Collection<T> getCacheScoredSetRange(final String key, int start, int end, boolean reversed) {
+        RScoredSortedSet<T> rSet = CLIENT.getScoredSortedSet(key);
+        return reversed ? rSet.valueRangeReversed(start, end) : rSet.valueRange(start, end);
+    }
+
     /**
      * 缓存Map
      *
@@ -413,6 +525,21 @@ public class RedisUtils {
         return rMap.getAll(rMap.keySet());
     }
 
+    /**
+     * 批量获得缓存的Map(单次批量请求)
+     *
+     * @param keys 缓存的键值集合
+     * @return 与键值顺序一致的map对象 不存在的为空map
+     */
+    public static <T> List<Map<String, T>> getMultiCacheMap(final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        RBatch batch = CLIENT.createBatch();
+        keys.forEach(key -> batch.<String, T>getMap(key).readAllMapAsync());
+        return new ArrayList<>((List<Map<String, T>>) batch.execute().getResponses());
+    }
+
     /**
      * 获得缓存Map的key列表
      *
@@ -8,6 +8,7 @@ import org.dromara.common.core.factory.YmlPropertySourceFactory;
 import org.dromara.common.satoken.core.dao.PlusSaTokenDao;
 import org.dromara.common.satoken.core.service.SaPermissionImpl;
 import org.dromara.common.satoken.handler.SaTokenExceptionHandler;
+import org.dromara.common.satoken.listener.SaTokenInvalidateTopicListener;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.PropertySource;
@@ -43,6 +44,14 @@ public class SaTokenConfig {
         return new PlusSaTokenDao();
     }
 
+    /**
+     * 本地缓存失效主题订阅监听器
+     */
+    @Bean
+    public SaTokenInvalidateTopicListener saTokenInvalidateTopicListener() {
+        return new SaTokenInvalidateTopicListener();
+    }
+
     /**
      * 异常处理器
      */
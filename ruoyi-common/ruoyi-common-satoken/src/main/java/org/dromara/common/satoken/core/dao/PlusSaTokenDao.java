@@ -4,38 +4,96 @@ import cn.dev33.satoken.dao.SaTokenDao;
 import cn.dev33.satoken.util.SaFoxUtil;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.dromara.common.core.constant.GlobalConstants;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.redis.config.properties.CaffeineProperties;
 import org.dromara.common.redis.utils.RedisUtils;
 
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Sa-Token持久层接口(使用框架自带RedisUtils实现 协议统一)
  * <p>
  * 采用 caffeine + redis 多级缓存 优化并发查询效率
+ * <p>
+ * 写入/删除时通过 redis 主题广播失效通知 集群内各节点同步清除本地缓存
+ * <p>
+ * token 数据额外维护有序集合索引 供在线用户查询/踢人使用 避免全量扫描 key
  *
  * @author Lion Li
  */
 public class PlusSaTokenDao implements SaTokenDao {
 
-    private static final Cache<String, Object> CAFFEINE = Caffeine.newBuilder()
-        // 设置最后一次写入或访问后经过固定时间过期
-        .expireAfterWrite(5, TimeUnit.SECONDS)
-        // 初始的缓存空间大小
-        .initialCapacity(100)
-        // 缓存的最大条数
-        .maximumSize(1000)
-        .build();
+    /**
+     * 本地缓存名称 可通过 caffeine.caches.satoken 调整大小与过期时间
+     */
+    public static final String CACHE_NAME = "satoken";
+
+    /**
+     * 本地缓存失效通知主题
+     */
+    public static final String INVALIDATE_TOPIC = GlobalConstants.GLOBAL_REDIS_KEY + "satoken_invalidate";
+
+    /**
+     * token 映射 key 的标识 (格式为 tokenName:loginType:token:tokenValue)
+     */
+    private static final String TOKEN_KEY_MARKER = ":token:";
+
+    /**
+     * 本节点已确认构建过的 token 索引
+     */
+    private static final Set<String> BUILT_INDEXES = ConcurrentHashMap.newKeySet();
+
+    private static final MeterRegistry REGISTRY = SpringUtils.getBeanFactory()
+        .getBeanProvider(MeterRegistry.class).getIfAvailable();
+
+    private static final Cache<String, Object> CAFFEINE = createCaffeine();
+
+    /**
+     * 本地缓存未命中时 redis 查询耗时
+     */
+    private static final Timer LOOKUP_TIMER = REGISTRY == null ? null : Timer.builder("satoken.dao.lookup")
+        .description("Sa-Token 本地缓存未命中时 redis 查询耗时")
+        .register(REGISTRY);
+
+    private static Cache<String, Object> createCaffeine() {
+        // 会话数据的 redis 过期不会广播 本地缓存时间需保持较短
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(10))
+            .initialCapacity(1000)
+            .maximumSize(10000)
+            .recordStats();
+        CaffeineProperties.CacheSpec spec = SpringUtils.getBean(CaffeineProperties.class).getCaches().get(CACHE_NAME);
+        if (spec != null) {
+            if (spec.getExpireAfterWrite() != null) {
+                builder.expireAfterWrite(spec.getExpireAfterWrite());
+            }
+            if (spec.getMaximumSize() != null) {
+                builder.maximumSize(spec.getMaximumSize());
+            }
+        }
+        Cache<String, Object> cache = builder.build();
+        if (REGISTRY != null) {
+            CaffeineCacheMetrics.monitor(REGISTRY, cache, CACHE_NAME);
+        }
+        return cache;
+    }
 
     /**
      * 获取Value，如无返空
      */
     @Override
     public String get(String key) {
-        Object o = CAFFEINE.get(key, k -> RedisUtils.getCacheObject(key));
+        Object o = CAFFEINE.get(key, PlusSaTokenDao::load);
         return (String) o;
     }
 
@@ -51,13 +109,10 @@ public class PlusSaTokenDao implements SaTokenDao {
         if (timeout == NEVER_EXPIRE) {
             RedisUtils.setCacheObject(key, value);
         } else {
-            if (RedisUtils.hasKey(key)) {
-                RedisUtils.setCacheObject(key, value, true);
-            } else {
-                RedisUtils.setCacheObject(key, value, Duration.ofSeconds(timeout));
-            }
+            RedisUtils.setCacheObjectKeepTtl(key, value, Duration.ofSeconds(timeout));
         }
-        CAFFEINE.invalidate(key);
+        invalidate(key);
+        indexToken(key, timeout);
     }
 
     /**
@@ -65,9 +120,8 @@ public class PlusSaTokenDao implements SaTokenDao {
      */
     @Override
     public void update(String key, String value) {
-        if (RedisUtils.hasKey(key)) {
-            RedisUtils.setCacheObject(key, value, true);
-            CAFFEINE.invalidate(key);
+        if (RedisUtils.setObjectIfExistsKeepTtl(key, value)) {
+            invalidate(key);
         }
     }
 
@@ -77,6 +131,8 @@ public class PlusSaTokenDao implements SaTokenDao {
     @Override
     public void delete(String key) {
         RedisUtils.deleteObject(key);
+        invalidate(key);
+        unindexToken(key);
     }
 
     /**
@@ -94,6 +150,7 @@ public class PlusSaTokenDao implements SaTokenDao {
     @Override
     public void updateTimeout(String key, long timeout) {
         RedisUtils.expire(key, Duration.ofSeconds(timeout));
+        indexToken(key, timeout);
     }
 
 
@@ -102,8 +159,7 @@ public class PlusSaTokenDao implements SaTokenDao {
      */
     @Override
     public Object getObject(String key) {
-        Object o = CAFFEINE.get(key, k -> RedisUtils.getCacheObject(key));
-        return o;
+        return CAFFEINE.get(key, PlusSaTokenDao::load);
     }
 
     /**
@@ -118,13 +174,9 @@ public class PlusSaTokenDao implements SaTokenDao {
         if (timeout == NEVER_EXPIRE) {
             RedisUtils.setCacheObject(key, object);
         } else {
-            if (RedisUtils.hasKey(key)) {
-                RedisUtils.setCacheObject(key, object, true);
-            } else {
-                RedisUtils.setCacheObject(key, object, Duration.ofSeconds(timeout));
-            }
+            RedisUtils.setCacheObjectKeepTtl(key, object, Duration.ofSeconds(timeout));
         }
-        CAFFEINE.invalidate(key);
+        invalidate(key);
     }
 
     /**
@@ -132,9 +184,8 @@ public class PlusSaTokenDao implements SaTokenDao {
      */
     @Override
     public void updateObject(String key, Object object) {
-        if (RedisUtils.hasKey(key)) {
-            RedisUtils.setCacheObject(key, object, true);
-            CAFFEINE.invalidate(key);
+        if (RedisUtils.setObjectIfExistsKeepTtl(key, object)) {
+            invalidate(key);
         }
     }
 
@@ -144,6 +195,7 @@ public class PlusSaTokenDao implements SaTokenDao {
     @Override
     public void deleteObject(String key) {
         RedisUtils.deleteObject(key);
+        invalidate(key);
     }
 
     /**
@@ -166,15 +218,156 @@ public class PlusSaTokenDao implements SaTokenDao {
 
     /**
      * 搜索数据
+     * <p>
+     * token 数据走有序集合索引 按过期时间排序分页 其余数据回退为 key 扫描
      */
     @SuppressWarnings("unchecked")
     @Override
     public List<String> searchData(String prefix, String keyword, int start, int size, boolean sortType) {
-        String keyStr = prefix + "*" + keyword + "*";
-        return (List<String>) CAFFEINE.get(keyStr, k -> {
-            Collection<String> keys = RedisUtils.keys(keyStr);
-            List<String> list = new ArrayList<>(keys);
-            return SaFoxUtil.searchList(list, start, size, sortType);
-        });
+        if (!prefix.endsWith(TOKEN_KEY_MARKER)) {
+            String keyStr = prefix + "*" + keyword + "*";
+            return (List<String>) CAFFEINE.get(keyStr, k -> {
+                Collection<String> keys = RedisUtils.keys(keyStr);
+                List<String> list = new ArrayList<>(keys);
+                return SaFoxUtil.searchList(list, start, size, sortType);
+            });
+        }
+        String indexKey = getIndexKey(prefix);
+        ensureIndex(prefix, indexKey);
+        // 清理已过期的 token
+        RedisUtils.delCacheScoredSetByScore(indexKey, 0, System.currentTimeMillis());
+        List<String> tokens;
+        if (StringUtils.isEmpty(keyword)) {
+            int begin = Math.max(start, 0);
+            int end = size == -1 ? -1 : begin + size - 1;
+            tokens = new ArrayList<>(RedisUtils.getCacheScoredSetRange(indexKey, begin, end, !sortType));
+        } else {
+            Collection<String> all = RedisUtils.getCacheScoredSetRange(indexKey, 0, -1, false);
+            List<String> list = new ArrayList<>();
+            for (String token : all) {
+                if (token.contains(keyword)) {
+                    list.add(token);
+                }
+            }
+            tokens = SaFoxUtil.searchList(list, start, size, sortType);
+        }
+        List<String> result = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            result.add(prefix + token);
+        }
+        return result;
+    }
+
+    /**
+     * 索引未构建过时(如首次升级) 扫描一次已有 token 重建索引
+     * <p>
+     * 有序集合在最后一个成员移除后会被 redis 删除 因此以单独的标记 key 记录是否已构建
+     */
+    private static void ensureIndex(String prefix, String indexKey) {
+        if (BUILT_INDEXES.contains(indexKey)) {
+            return;
+        }
+        String builtKey = indexKey + "_built";
+        if (!RedisUtils.isExistsObject(builtKey)) {
+            rebuildIndex(prefix, indexKey);
+            RedisUtils.setCacheObject(builtKey, Boolean.TRUE);
+        }
+        BUILT_INDEXES.add(indexKey);
+    }
+
+    private static void rebuildIndex(String prefix, String indexKey) {
+        long now = System.currentTimeMillis();
+        for (String key : RedisUtils.keys(prefix + "*")) {
+            long ttl = RedisUtils.getTimeToLive(key);
+            if (ttl == NOT_VALUE_EXPIRE) {
+                continue;
+            }
+            double expireAt = ttl == NEVER_EXPIRE ? Long.MAX_VALUE : now + ttl;
+            RedisUtils.addCacheScoredSet(indexKey, StringUtils.substringAfterLast(key, TOKEN_KEY_MARKER), expireAt);
+        }
+    }
+
+    /**
+     * 写入 token 索引 分值为过期时间戳
+     */
+    private static void indexToken(String key, long timeout) {
+        int index = key.lastIndexOf(TOKEN_KEY_MARKER);
+        if (index < 0 || timeout == 0 || timeout <= NOT_VALUE_EXPIRE) {
+            return;
+        }
+        String prefix = key.substring(0, index + TOKEN_KEY_MARKER.length());
+        double expireAt = timeout == NEVER_EXPIRE ? Long.MAX_VALUE : System.currentTimeMillis() + timeout * 1000;
+        RedisUtils.addCacheScoredSet(getIndexKey(prefix), key.substring(prefix.length()), expireAt);
+    }
+
+    /**
+     * 删除 token 索引
+     */
+    private static void unindexToken(String key) {
+        int index = key.lastIndexOf(TOKEN_KEY_MARKER);
+        if (index < 0) {
+            return;
+        }
+        String prefix = key.substring(0, index + TOKEN_KEY_MARKER.length());
+        RedisUtils.delCacheScoredSet(getIndexKey(prefix), key.substring(prefix.length()));
+    }
+
+    /**
+     * token 索引 key 例如 Authorization:login:token_index
+     */
+    private static String getIndexKey(String prefix) {
+        return prefix.substring(0, prefix.length() - 1) + "_index";
+    }
+
+    /**
+     * 从 redis 加载数据 并记录查询耗时
+     */
+    private static Object load(String key) {
+        if (LOOKUP_TIMER == null) {
+            return RedisUtils.getCacheObject(key);
+        }
+        return LOOKUP_TIMER.record(() -> RedisUtils.getCacheObject(key));
     }
+
+    /**
+     * 批量预加载数据到本地缓存(一次 redis 批量查询) 之后逐个读取时直接命中本地缓存
+     *
+     * @param keys 缓存key
+     */
+    public void preload(Collection<String> keys) {
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            if (CAFFEINE.getIfPresent(key) == null) {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<Object> values = RedisUtils.getMultiCacheObject(missing);
+        for (int i = 0; i < missing.size(); i++) {
+            Object value = values.get(i);
+            if (value != null) {
+                CAFFEINE.put(missing.get(i), value);
+            }
+        }
+    }
+
+    /**
+     * 清除本地缓存并通知其他节点
+     */
+    private static void invalidate(String key) {
+        CAFFEINE.invalidate(key);
+        RedisUtils.getClient().getTopic(INVALIDATE_TOPIC).publishAsync(key);
+    }
+
+    /**
+     * 清除本地缓存(接收其他节点的失效通知)
+     *
+     * @param key 缓存key
+     */
+    public static void invalidateLocal(String key) {
+        CAFFEINE.invalidate(key);
+    }
+
 }
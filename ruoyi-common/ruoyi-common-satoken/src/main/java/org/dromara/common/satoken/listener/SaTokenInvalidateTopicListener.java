@@ -0,0 +1,30 @@
+package org.dromara.common.satoken.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.satoken.core.dao.PlusSaTokenDao;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+
+/**
+ * Sa-Token 本地缓存失效主题订阅监听器
+ * <p>
+ * 登出/踢下线/会话更新时 其他节点同步清除本地缓存中的会话数据
+ *
+ * @author Lion Li
+ */
+@Slf4j
+public class SaTokenInvalidateTopicListener implements ApplicationRunner, Ordered {
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        RedisUtils.subscribe(PlusSaTokenDao.INVALIDATE_TOPIC, String.class, PlusSaTokenDao::invalidateLocal);
+        log.info("初始化Sa-Token缓存失效主题订阅监听器成功");
+    }
+
+    @Override
+    public int getOrder() {
+        return -1;
+    }
+}
@@ -4,7 +4,6 @@ import cn.dev33.satoken.exception.NotLoginException;
 import cn.dev33.satoken.filter.SaServletFilter;
 import cn.dev33.satoken.httpauth.basic.SaHttpBasicUtil;
 import cn.dev33.satoken.interceptor.SaInterceptor;
-import cn.dev33.satoken.router.SaRouter;
 import cn.dev33.satoken.stp.StpUtil;
 import cn.dev33.satoken.util.SaResult;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,11 +17,18 @@ import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.dromara.common.security.config.properties.SecurityProperties;
 import org.dromara.common.security.handler.AllUrlHandler;
+import org.dromara.common.security.handler.RouteMatcher;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.server.PathContainer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 权限安全配置
@@ -45,48 +51,64 @@ public class SecurityConfig implements WebMvcConfigurer {
     public void addInterceptors(InterceptorRegistry registry) {
         // 注册路由拦截器，自定义验证规则
         registry.addInterceptor(new SaInterceptor(handler -> {
-                AllUrlHandler allUrlHandler = SpringUtils.getBean(AllUrlHandler.class);
-                // 登录验证 -- 排除多个路径
-                SaRouter
-                    // 获取所有的
-                    .match(allUrlHandler.getUrls())
-                    // 对未排除的路径进行检查
-                    .check(() -> {
-                        HttpServletRequest request = ServletUtils.getRequest();
-                        // 检查是否登录 是否有token
-                        try {
-                            StpUtil.checkLogin();
-                        } catch (NotLoginException e) {
-                            if (request.getRequestURI().contains("sse")) {
-                                throw new SseException(e.getMessage(), e.getCode());
-                            } else {
-                                throw e;
-                            }
-                        }
-
-                        // 检查 header 与 param 里的 clientid 与 token 里的是否一致
-                        String headerCid = request.getHeader(LoginHelper.CLIENT_KEY);
-                        String paramCid = ServletUtils.getParameter(LoginHelper.CLIENT_KEY);
-                        String clientId = StpUtil.getExtra(LoginHelper.CLIENT_KEY).toString();
-                        if (!StringUtils.equalsAny(clientId, headerCid, paramCid)) {
-                            // token 无效
-                            throw NotLoginException.newInstance(StpUtil.getLoginType(),
-                                "-100", "客户端ID与Token不匹配",
-                                StpUtil.getTokenValue());
-                        }
+                RouteMatcher routeMatcher = SpringUtils.getBean(AllUrlHandler.class).getRouteMatcher();
+                HttpServletRequest request = ServletUtils.getRequest();
+                // 登录验证 -- 只检查命中接口路径的请求(启动时编译的路由前缀树 单次查找)
+                if (!routeMatcher.matches(getPathSegments(request))) {
+                    return;
+                }
+                // 检查是否登录 是否有token
+                try {
+                    StpUtil.checkLogin();
+                } catch (NotLoginException e) {
+                    if (request.getRequestURI().contains("sse")) {
+                        throw new SseException(e.getMessage(), e.getCode());
+                    } else {
+                        throw e;
+                    }
+                }
 
-                        // 有效率影响 用于临时测试
-                        // if (log.isDebugEnabled()) {
-                        //     log.info("剩余有效时间: {}", StpUtil.getTokenTimeout());
-                        //     log.info("临时有效时间: {}", StpUtil.getTokenActivityTimeout());
-                        // }
+                // 检查 header 与 param 里的 clientid 与 token 里的是否一致
+                String headerCid = request.getHeader(LoginHelper.CLIENT_KEY);
+                String paramCid = ServletUtils.getParameter(LoginHelper.CLIENT_KEY);
+                String clientId = StpUtil.getExtra(LoginHelper.CLIENT_KEY).toString();
+                if (!StringUtils.equalsAny(clientId, headerCid, paramCid)) {
+                    // token 无效
+                    throw NotLoginException.newInstance(StpUtil.getLoginType(),
+                        "-100", "客户端ID与Token不匹配",
+                        StpUtil.getTokenValue());
+                }
 
-                    });
+                // 有效率影响 用于临时测试
+                // if (log.isDebugEnabled()) {
+                //     log.info("剩余有效时间: {}", StpUtil.getTokenTimeout());
+                //     log.info("临时有效时间: {}", StpUtil.getTokenActivityTimeout());
+                // }
             })).addPathPatterns("/**")
             // 排除不需要拦截的路径
             .excludePathPatterns(securityProperties.getExcludes());
     }
 
+    /**
+     * 获取已解码的请求路径段 与 Spring MVC 匹配处理器时使用的路径一致
+     */
+    private static List<String> getPathSegments(HttpServletRequest request) {
+        List<String> segments = new ArrayList<>();
+        if (ServletRequestPathUtils.hasParsedRequestPath(request)) {
+            for (PathContainer.Element element : ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication().elements()) {
+                if (element instanceof PathContainer.PathSegment segment && !segment.valueToMatch().isEmpty()) {
+                    segments.add(segment.valueToMatch());
+                }
+            }
+            return segments;
+        }
+        String path = UrlPathHelper.defaultInstance.getLookupPathForRequest(request);
+        for (String segment : StringUtils.split(path, '/')) {
+            segments.add(segment);
+        }
+        return segments;
+    }
+
     /**
      * 对 actuator 健康检查接口 做账号密码鉴权
      */
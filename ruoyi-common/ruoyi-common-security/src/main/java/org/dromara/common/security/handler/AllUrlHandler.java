@@ -1,6 +1,5 @@
 package org.dromara.common.security.handler;
 
-import cn.hutool.core.util.ReUtil;
 import org.dromara.common.core.utils.SpringUtils;
 import lombok.Data;
 import org.springframework.beans.factory.InitializingBean;
@@ -8,8 +7,7 @@ import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
-import java.util.*;
-import java.util.regex.Pattern;
+import java.util.Map;
 
 /**
  * 获取所有Url配置
@@ -19,21 +17,18 @@ import java.util.regex.Pattern;
 @Data
 public class AllUrlHandler implements InitializingBean {
 
-    private static final Pattern PATTERN = Pattern.compile("\\{(.*?)\\}");
-
-    private List<String> urls = new ArrayList<>();
+    /**
+     * 登录校验路由匹配器(全部接口路径)
+     */
+    private RouteMatcher routeMatcher;
 
     @Override
     public void afterPropertiesSet() {
-        Set<String> set = new HashSet<>();
+        RouteMatcher matcher = new RouteMatcher();
         RequestMappingHandlerMapping mapping = SpringUtils.getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
         Map<RequestMappingInfo, HandlerMethod> map = mapping.getHandlerMethods();
-        map.keySet().forEach(info -> {
-            // 获取注解上边的 path 替代 path variable 为 *
-            Objects.requireNonNull(info.getPathPatternsCondition().getPatterns())
-                    .forEach(url -> set.add(ReUtil.replaceAll(url.getPatternString(), PATTERN, "*")));
-        });
-        urls.addAll(set);
+        map.keySet().forEach(info -> info.getPatternValues().forEach(matcher::addRoute));
+        routeMatcher = matcher;
     }
 
 }
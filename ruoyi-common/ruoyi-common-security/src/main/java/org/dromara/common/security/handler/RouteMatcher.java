@@ -0,0 +1,159 @@
+package org.dromara.common.security.handler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 登录校验路由匹配器
+ * <p>
+ * 启动时将全部接口路径按路径段编译为前缀树 请求时按路径逐段查找一次
+ * 代替对全部接口路径逐个做 Ant 风格匹配 排除路径仍由拦截器注册时的 excludePathPatterns 处理
+ * <p>
+ * 支持的路径段: 普通字符 {@code *} {@code ?} {@code {var}} {@code {var:regex}} {@code **} {@code {*var}}
+ * 路径变量的正则约束按 {@code *} 处理(与原先替换为 {@code *} 后匹配一致)
+ *
+ * @author Lion Li
+ */
+public class RouteMatcher {
+
+    private final Node root = new Node();
+
+    /**
+     * 添加接口路径
+     */
+    public void addRoute(String pattern) {
+        Node node = root;
+        for (String segment : split(pattern)) {
+            if ("**".equals(segment) || segment.startsWith("{*")) {
+                node = node.multi != null ? node.multi : (node.multi = new Node());
+            } else if ("*".equals(segment) || isVariable(segment)) {
+                node = node.single != null ? node.single : (node.single = new Node());
+            } else if (hasWildcard(segment)) {
+                node = node.patterns.computeIfAbsent(segment, k -> new SegmentPattern(compile(k), new Node())).node();
+            } else {
+                node = node.literals.computeIfAbsent(segment, k -> new Node());
+            }
+        }
+        node.route = true;
+    }
+
+    /**
+     * 是否命中任一接口路径
+     *
+     * @param path 请求路径(不含上下文路径)
+     */
+    public boolean matches(String path) {
+        return matches(split(path));
+    }
+
+    /**
+     * 是否命中任一接口路径
+     *
+     * @param segments 已解码的请求路径段(不含空段)
+     */
+    public boolean matches(List<String> segments) {
+        return match(root, segments, 0);
+    }
+
+    private boolean match(Node node, List<String> segments, int index) {
+        if (node.multi != null) {
+            // 多段通配 依次尝试匹配 0..n 个路径段
+            for (int i = index; i <= segments.size(); i++) {
+                if (match(node.multi, segments, i)) {
+                    return true;
+                }
+            }
+        }
+        if (index == segments.size()) {
+            return node.route;
+        }
+        String segment = segments.get(index);
+        Node literal = node.literals.get(segment);
+        if (literal != null && match(literal, segments, index + 1)) {
+            return true;
+        }
+        if (node.single != null && match(node.single, segments, index + 1)) {
+            return true;
+        }
+        for (SegmentPattern pattern : node.patterns.values()) {
+            if (pattern.pattern().matcher(segment).matches() && match(pattern.node(), segments, index + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按 / 拆分路径 忽略空段(多余的斜杠不影响匹配)
+     */
+    private static List<String> split(String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int length = path.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || path.charAt(i) == '/') {
+                if (i > start) {
+                    segments.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return segments;
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.startsWith("{") && segment.endsWith("}") && segment.indexOf('}') == segment.length() - 1;
+    }
+
+    private static boolean hasWildcard(String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    /**
+     * 将包含通配符的路径段编译为正则
+     */
+    private static Pattern compile(String segment) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else if (c == '{') {
+                // 跳过整个路径变量(含正则约束中嵌套的花括号)
+                int depth = 1;
+                while (depth > 0 && ++i < segment.length()) {
+                    char v = segment.charAt(i);
+                    if (v == '{') {
+                        depth++;
+                    } else if (v == '}') {
+                        depth--;
+                    }
+                }
+                regex.append(".*");
+            } else if (Character.isLetterOrDigit(c)) {
+                regex.append(c);
+            } else {
+                regex.append('\\').append(c);
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private record SegmentPattern(Pattern pattern, Node node) {
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private final Map<String, SegmentPattern> patterns = new LinkedHashMap<>();
+        private Node single;
+        private Node multi;
+        private boolean route;
+    }
+
+}
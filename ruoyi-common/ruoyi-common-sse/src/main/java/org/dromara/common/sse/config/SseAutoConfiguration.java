@@ -1,12 +1,21 @@
 package org.dromara.common.sse.config;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.sse.controller.SseController;
 import org.dromara.common.sse.core.SseEmitterManager;
 import org.dromara.common.sse.listener.SseTopicListener;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * SSE 自动装配
@@ -19,8 +28,24 @@ import org.springframework.context.annotation.Bean;
 public class SseAutoConfiguration {
 
     @Bean
-    public SseEmitterManager sseEmitterManager() {
-        return new SseEmitterManager();
+    public SseEmitterManager sseEmitterManager(SseProperties sseProperties,
+                                               @Qualifier("sseSendExecutor") Executor sseSendExecutor) {
+        return new SseEmitterManager(sseProperties, sseSendExecutor);
+    }
+
+    /**
+     * SSE 消息发送线程池 各连接独立排队写出 慢客户端不会阻塞主题监听线程与其他连接
+     */
+    @Bean
+    public Executor sseSendExecutor(SseProperties sseProperties) {
+        if (SpringUtils.isVirtual()) {
+            return new VirtualThreadTaskExecutor("sse-send-");
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(sseProperties.getSendPoolSize(),
+            sseProperties.getSendPoolSize(), 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new BasicThreadFactory.Builder().namingPattern("sse-send-%d").daemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     @Bean
@@ -3,6 +3,8 @@ package org.dromara.common.sse.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * SSE 配置项
  *
@@ -18,4 +20,19 @@ public class SseProperties {
      * 路径
      */
     private String path;
+
+    /**
+     * 心跳间隔 定期向全部连接发送注释事件 及时发现并清理已断开的连接
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+    /**
+     * 单个连接待发送事件的上限 超过后判定为慢客户端并关闭连接
+     */
+    private int maxPending = 256;
+
+    /**
+     * 发送线程数 (开启虚拟线程时不生效)
+     */
+    private int sendPoolSize = 32;
 }
@@ -0,0 +1,143 @@
+package org.dromara.common.sse.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 带独立发送队列的 SSE 连接
+ * <p>
+ * 发送只入队不阻塞 由发送线程池写出 同一连接同时只有一个线程写出
+ * 写出期间积压的事件在下一次写出时合并为一次发送(一次 flush)
+ * 写出失败或积压超限时立即关闭连接并从管理器中移除
+ *
+ * @author Lion Li
+ */
+@Slf4j
+public class SseConnection {
+
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final int maxPending;
+    private final Runnable onClose;
+
+    private final Queue<Set<DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean completing;
+
+    /**
+     * @param emitter    SSE 连接
+     * @param executor   发送线程池
+     * @param maxPending 待发送事件上限
+     * @param onClose    连接关闭后的清理操作
+     */
+    public SseConnection(SseEmitter emitter, Executor executor, int maxPending, Runnable onClose) {
+        this.emitter = emitter;
+        this.executor = executor;
+        this.maxPending = maxPending;
+        this.onClose = onClose;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public boolean isOpen() {
+        return !closed.get() && !completing;
+    }
+
+    /**
+     * 事件入队 由发送线程池异步写出
+     *
+     * @param event 由 {@link SseEmitter.SseEventBuilder#build()} 构建的事件 可在多个连接间共享
+     */
+    public void send(Set<DataWithMediaType> event) {
+        if (!isOpen()) {
+            return;
+        }
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            log.warn("SSE连接待发送事件超过上限 判定为慢客户端并关闭连接 maxPending: {}", maxPending);
+            close();
+            return;
+        }
+        pending.offer(event);
+        scheduleFlush();
+    }
+
+    /**
+     * 写出已入队的事件后正常关闭连接
+     */
+    public void complete() {
+        if (!isOpen()) {
+            return;
+        }
+        completing = true;
+        scheduleFlush();
+    }
+
+    /**
+     * 立即关闭连接 丢弃未写出的事件
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        pending.clear();
+        pendingCount.set(0);
+        try {
+            emitter.complete();
+        } catch (Exception ignored) {
+        }
+        onClose.run();
+    }
+
+    private void scheduleFlush() {
+        if (flushing.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flushing.set(false);
+                close();
+            }
+        }
+    }
+
+    private void flush() {
+        try {
+            // 合并积压的事件 一次写出
+            Set<DataWithMediaType> batch = new LinkedHashSet<>();
+            Set<DataWithMediaType> event;
+            while ((event = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                batch.addAll(event);
+            }
+            if (!batch.isEmpty() && !closed.get()) {
+                emitter.send(batch);
+            }
+            if (completing) {
+                close();
+            }
+        } catch (Exception e) {
+            // 客户端已断开 立即清理
+            close();
+        } finally {
+            flushing.set(false);
+        }
+        if (!closed.get() && (!pending.isEmpty() || completing)) {
+            scheduleFlush();
+        }
+    }
+
+}
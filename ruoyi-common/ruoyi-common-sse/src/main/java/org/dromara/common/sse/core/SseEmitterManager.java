@@ -1,18 +1,30 @@
 package org.dromara.common.sse.core;
 
+import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.map.MapUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.NodeUtils;
+import org.dromara.common.redis.manager.PresenceManager;
 import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.sse.config.SseProperties;
 import org.dromara.common.sse.dto.SseMessageDto;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
  * 管理 Server-Sent Events (SSE) 连接
+ * <p>
+ * 每个连接带独立的发送队列 发送只入队不阻塞 由发送线程池分散写出 同一连接积压的事件合并为一次写出
+ * 写出失败的连接立即移除 心跳由共享的定时任务线程池统一发送
  *
  * @author Lion Li
  */
@@ -24,7 +36,29 @@ public class SseEmitterManager {
      */
     private final static String SSE_TOPIC = "global:sse";
 
-    private final static Map<Long, Map<String, SseEmitter>> USER_TOKEN_EMITTERS = new ConcurrentHashMap<>();
+    /**
+     * 心跳事件(注释事件 客户端不会触发消息回调)
+     */
+    private final static Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final static Map<Long, Map<String, SseConnection>> USER_TOKEN_EMITTERS = new ConcurrentHashMap<>();
+
+    /**
+     * SSE 在线状态注册表 用于将定向消息只发布到持有目标用户连接的节点
+     */
+    private final static PresenceManager PRESENCE = new PresenceManager("sse");
+
+    private final SseProperties properties;
+
+    /**
+     * 消息发送线程池
+     */
+    private final Executor sendExecutor;
+
+    public SseEmitterManager(SseProperties properties, Executor sendExecutor) {
+        this.properties = properties;
+        this.sendExecutor = sendExecutor;
+    }
 
     /**
      * 建立与指定用户的 SSE 连接
@@ -34,30 +68,55 @@ public class SseEmitterManager {
      * @return 返回一个 SseEmitter 实例，客户端可以通过该实例接收 SSE 事件
      */
     public SseEmitter connect(Long userId, String token) {
-        // 从 USER_TOKEN_EMITTERS 中获取或创建当前用户的 SseEmitter 映射表（ConcurrentHashMap）
+        // 从 USER_TOKEN_EMITTERS 中获取或创建当前用户的连接映射表（ConcurrentHashMap）
         // 每个用户可以有多个 SSE 连接，通过 token 进行区分
-        Map<String, SseEmitter> emitters = USER_TOKEN_EMITTERS.computeIfAbsent(userId, k -> new ConcurrentHashMap<>());
+        Map<String, SseConnection> emitters = USER_TOKEN_EMITTERS.computeIfAbsent(userId, k -> new ConcurrentHashMap<>());
 
         // 创建一个新的 SseEmitter 实例，超时时间设置为 0 表示无限制
         SseEmitter emitter = new SseEmitter(0L);
+        SseConnection connection = new SseConnection(emitter, sendExecutor, properties.getMaxPending(),
+            () -> removeConnection(userId, token, emitter));
 
-        emitters.put(token, emitter);
+        SseConnection previous = emitters.put(token, connection);
+        if (previous != null) {
+            previous.close();
+        }
+        PRESENCE.online(userId, presenceId(token));
 
         // 当 emitter 完成、超时或发生错误时，从映射表中移除对应的 token
-        emitter.onCompletion(() -> emitters.remove(token));
-        emitter.onTimeout(() -> emitters.remove(token));
-        emitter.onError((e) -> emitters.remove(token));
-
-        try {
-            // 向客户端发送一条连接成功的事件
-            emitter.send(SseEmitter.event().comment("connected"));
-        } catch (IOException e) {
-            // 如果发送消息失败，则从映射表中移除 emitter
-            emitters.remove(token);
-        }
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError((e) -> connection.close());
+
+        // 向客户端发送一条连接成功的事件
+        connection.send(SseEmitter.event().comment("connected").build());
         return emitter;
     }
 
+    /**
+     * 移除指定的连接 同一 token 已建立新连接时不影响新连接
+     */
+    private void removeConnection(Long userId, String token, SseEmitter emitter) {
+        Map<String, SseConnection> emitters = USER_TOKEN_EMITTERS.get(userId);
+        if (emitters == null) {
+            return;
+        }
+        SseConnection connection = emitters.get(token);
+        if (connection != null && connection.getEmitter() == emitter && emitters.remove(token, connection)) {
+            PRESENCE.offline(userId, presenceId(token));
+            USER_TOKEN_EMITTERS.computeIfPresent(userId, (k, v) -> v.isEmpty() ? null : v);
+        }
+    }
+
+    /**
+     * 在线状态注册表中的连接id
+     * <p>
+     * 同一 token 可在不同节点各建立一个连接(如多个标签页) 需带上节点id区分 避免一个节点断开时注销另一节点的登记
+     */
+    private static String presenceId(String token) {
+        return token + ":" + NodeUtils.NODE_ID;
+    }
+
     /**
      * 断开指定用户的 SSE 连接
      *
@@ -65,17 +124,15 @@ public class SseEmitterManager {
      * @param token  用户的唯一令牌，用于识别具体的连接
      */
     public void disconnect(Long userId, String token) {
-        Map<String, SseEmitter> emitters = USER_TOKEN_EMITTERS.get(userId);
-        if (MapUtil.isNotEmpty(emitters)) {
-            try {
-                SseEmitter sseEmitter = emitters.get(token);
-                sseEmitter.send(SseEmitter.event().comment("disconnected"));
-                sseEmitter.complete();
-            } catch (Exception ignore) {
-            }
-            emitters.remove(token);
-        } else {
-            USER_TOKEN_EMITTERS.remove(userId);
+        Map<String, SseConnection> emitters = USER_TOKEN_EMITTERS.get(userId);
+        if (MapUtil.isEmpty(emitters)) {
+            return;
+        }
+        SseConnection connection = emitters.get(token);
+        if (connection != null) {
+            // 写出断开事件后关闭连接 关闭时自动移除
+            connection.send(SseEmitter.event().comment("disconnected").build());
+            connection.complete();
         }
     }
 
@@ -86,54 +143,119 @@ public class SseEmitterManager {
      */
     public void subscribeMessage(Consumer<SseMessageDto> consumer) {
         RedisUtils.subscribe(SSE_TOPIC, SseMessageDto.class, consumer);
+        RedisUtils.subscribe(PRESENCE.getNodeTopic(), SseMessageDto.class, consumer);
+    }
+
+    /**
+     * 开始上报当前节点心跳 并定时向全部连接发送心跳
+     *
+     * @param scheduler 定时任务线程池
+     */
+    public void start(ScheduledExecutorService scheduler) {
+        PRESENCE.start(scheduler);
+        long interval = properties.getHeartbeatInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            // 只入队 写出失败的连接在发送线程中被移除
+            forEachConnection(connection -> connection.send(HEARTBEAT));
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 当前节点下线 不再接收定向消息
+     */
+    public void stop() {
+        PRESENCE.stop();
     }
 
     /**
-     * 向指定的用户会话发送消息
+     * 向指定的用户会话发送消息(只入队 不阻塞调用线程)
      *
      * @param userId  要发送消息的用户id
      * @param message 要发送的消息内容
      */
     public void sendMessage(Long userId, String message) {
-        Map<String, SseEmitter> emitters = USER_TOKEN_EMITTERS.get(userId);
-        if (MapUtil.isNotEmpty(emitters)) {
-            for (Map.Entry<String, SseEmitter> entry : emitters.entrySet()) {
-                try {
-                    entry.getValue().send(SseEmitter.event()
-                        .name("message")
-                        .data(message));
-                } catch (Exception e) {
-                    emitters.remove(entry.getKey());
+        sendMessage(List.of(userId), message);
+    }
+
+    /**
+     * 向多个用户的会话发送消息(只入队 不阻塞调用线程)
+     *
+     * @param userIds 要发送消息的用户id
+     * @param message 要发送的消息内容
+     */
+    public void sendMessage(List<Long> userIds, String message) {
+        Set<DataWithMediaType> event = buildMessage(message);
+        for (Long userId : userIds) {
+            Map<String, SseConnection> emitters = USER_TOKEN_EMITTERS.get(userId);
+            if (MapUtil.isNotEmpty(emitters)) {
+                for (SseConnection connection : emitters.values()) {
+                    connection.send(event);
                 }
             }
-        } else {
-            USER_TOKEN_EMITTERS.remove(userId);
         }
     }
 
     /**
-     * 本机全用户会话发送消息
+     * 本机全用户会话发送消息(只入队 不阻塞调用线程)
      *
      * @param message 要发送的消息内容
      */
     public void sendMessage(String message) {
-        for (Long userId : USER_TOKEN_EMITTERS.keySet()) {
-            sendMessage(userId, message);
+        // 所有连接共享同一份事件数据 只构建一次
+        Set<DataWithMediaType> event = buildMessage(message);
+        forEachConnection(connection -> connection.send(event));
+    }
+
+    /**
+     * 当前节点的连接数
+     */
+    public int getConnectionCount() {
+        int count = 0;
+        for (Map<String, SseConnection> emitters : USER_TOKEN_EMITTERS.values()) {
+            count += emitters.size();
+        }
+        return count;
+    }
+
+    private void forEachConnection(Consumer<SseConnection> action) {
+        for (Map<String, SseConnection> emitters : USER_TOKEN_EMITTERS.values()) {
+            for (SseConnection connection : emitters.values()) {
+                action.accept(connection);
+            }
         }
     }
 
+    private Set<DataWithMediaType> buildMessage(String message) {
+        return SseEmitter.event().name("message").data(message).build();
+    }
+
     /**
      * 发布SSE订阅消息
+     * <p>
+     * 当前节点的连接直接发送 其他用户按在线状态注册表只发布到持有其连接的节点
      *
      * @param sseMessageDto 要发布的SSE消息对象
      */
     public void publishMessage(SseMessageDto sseMessageDto) {
-        SseMessageDto broadcastMessage = new SseMessageDto();
-        broadcastMessage.setMessage(sseMessageDto.getMessage());
-        broadcastMessage.setUserIds(sseMessageDto.getUserIds());
-        RedisUtils.publish(SSE_TOPIC, broadcastMessage, consumer -> {
-            log.info("SSE发送主题订阅消息topic:{} session keys:{} message:{}",
-                SSE_TOPIC, sseMessageDto.getUserIds(), sseMessageDto.getMessage());
+        List<Long> userIds = sseMessageDto.getUserIds();
+        if (CollUtil.isEmpty(userIds)) {
+            publishAll(sseMessageDto.getMessage());
+            return;
+        }
+        Map<String, List<Long>> routes = PRESENCE.route(userIds);
+        List<Long> localUserIds = routes.remove(NodeUtils.NODE_ID);
+        if (localUserIds != null) {
+            sendMessage(localUserIds, sseMessageDto.getMessage());
+        }
+        routes.forEach((nodeId, nodeUserIds) -> {
+            String topic = PRESENCE.getNodeTopic(nodeId);
+            SseMessageDto nodeMessage = new SseMessageDto();
+            nodeMessage.setMessage(sseMessageDto.getMessage());
+            nodeMessage.setUserIds(nodeUserIds);
+            RedisUtils.publish(topic, nodeMessage, consumer -> {
+                log.info("SSE发送主题订阅消息topic:{} session keys:{} message:{}",
+                    topic, nodeUserIds, sseMessageDto.getMessage());
+            });
         });
     }
 
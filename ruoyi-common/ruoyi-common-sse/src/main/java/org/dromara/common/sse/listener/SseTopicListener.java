@@ -2,19 +2,23 @@ package org.dromara.common.sse.listener;
 
 import cn.hutool.core.collection.CollUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.sse.core.SseEmitterManager;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.core.Ordered;
 
+import java.util.concurrent.ScheduledExecutorService;
+
 /**
  * SSE 主题订阅监听器
  *
  * @author Lion Li
  */
 @Slf4j
-public class SseTopicListener implements ApplicationRunner, Ordered {
+public class SseTopicListener implements ApplicationRunner, Ordered, DisposableBean {
 
     @Autowired
     private SseEmitterManager sseEmitterManager;
@@ -27,13 +31,13 @@ public class SseTopicListener implements ApplicationRunner, Ordered {
      */
     @Override
     public void run(ApplicationArguments args) throws Exception {
+        sseEmitterManager.start(SpringUtils.getBean(ScheduledExecutorService.class));
+        // 订阅群发主题与当前节点主题
         sseEmitterManager.subscribeMessage((message) -> {
             log.info("SSE主题订阅收到消息session keys={} message={}", message.getUserIds(), message.getMessage());
-            // 如果key不为空就按照key发消息 如果为空就群发
+            // 如果key不为空就按照key发消息 如果为空就群发 (只入队 监听线程立即返回)
             if (CollUtil.isNotEmpty(message.getUserIds())) {
-                message.getUserIds().forEach(key -> {
-                    sseEmitterManager.sendMessage(key, message.getMessage());
-                });
+                sseEmitterManager.sendMessage(message.getUserIds(), message.getMessage());
             } else {
                 sseEmitterManager.sendMessage(message.getMessage());
             }
@@ -41,6 +45,14 @@ public class SseTopicListener implements ApplicationRunner, Ordered {
         log.info("初始化SSE主题订阅监听器成功");
     }
 
+    /**
+     * 应用关闭时当前节点下线
+     */
+    @Override
+    public void destroy() {
+        sseEmitterManager.stop();
+    }
+
     @Override
     public int getOrder() {
         return -1;
@@ -1,10 +1,10 @@
 package org.dromara.common.tenant.core;
 
 import org.dromara.common.core.constant.GlobalConstants;
-import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.core.utils.StreamUtils;
 import org.dromara.common.satoken.core.dao.PlusSaTokenDao;
 
-import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -29,12 +29,7 @@ public class TenantSaTokenDao extends PlusSaTokenDao {
      */
     @Override
     public void update(String key, String value) {
-        long expire = getTimeout(key);
-        // -2 = 无此键
-        if (expire == NOT_VALUE_EXPIRE) {
-            return;
-        }
-        this.set(key, value, expire);
+        super.update(GlobalConstants.GLOBAL_REDIS_KEY + key, value);
     }
 
     /**
@@ -69,7 +64,7 @@ public class TenantSaTokenDao extends PlusSaTokenDao {
             }
             return;
         }
-        RedisUtils.expire(GlobalConstants.GLOBAL_REDIS_KEY + key, Duration.ofSeconds(timeout));
+        super.updateTimeout(GlobalConstants.GLOBAL_REDIS_KEY + key, timeout);
     }
 
 
@@ -94,12 +89,7 @@ public class TenantSaTokenDao extends PlusSaTokenDao {
      */
     @Override
     public void updateObject(String key, Object object) {
-        long expire = getObjectTimeout(key);
-        // -2 = 无此键
-        if (expire == NOT_VALUE_EXPIRE) {
-            return;
-        }
-        this.setObject(key, object, expire);
+        super.updateObject(GlobalConstants.GLOBAL_REDIS_KEY + key, object);
     }
 
     /**
@@ -134,10 +124,18 @@ public class TenantSaTokenDao extends PlusSaTokenDao {
             }
             return;
         }
-        RedisUtils.expire(GlobalConstants.GLOBAL_REDIS_KEY + key, Duration.ofSeconds(timeout));
+        super.updateObjectTimeout(GlobalConstants.GLOBAL_REDIS_KEY + key, timeout);
     }
 
 
+    /**
+     * 批量预加载数据到本地缓存
+     */
+    @Override
+    public void preload(Collection<String> keys) {
+        super.preload(StreamUtils.toList(keys, key -> GlobalConstants.GLOBAL_REDIS_KEY + key));
+    }
+
     /**
      * 搜索数据
      */
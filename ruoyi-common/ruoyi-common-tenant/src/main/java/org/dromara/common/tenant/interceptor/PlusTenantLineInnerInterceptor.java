@@ -0,0 +1,47 @@
+package org.dromara.common.tenant.interceptor;
+
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.dromara.common.tenant.helper.TenantHelper;
+
+/**
+ * 多租户拦截器(缓存改写结果)
+ * <p>
+ * 租户条件只与原始 sql 和当前租户有关 相同 sql 在同一租户下直接复用改写结果 不再经过 JSqlParser 解析与还原
+ *
+ * @author Lion Li
+ */
+public class PlusTenantLineInnerInterceptor extends TenantLineInnerInterceptor {
+
+    /**
+     * 改写结果缓存 key 为原始 sql/租户/语句类型 value 为改写后的 sql
+     */
+    private final Cache<RewriteKey, String> rewriteCache = Caffeine.newBuilder()
+        .maximumSize(4096)
+        .build();
+
+    public PlusTenantLineInnerInterceptor(TenantLineHandler tenantLineHandler) {
+        super(tenantLineHandler);
+    }
+
+    @Override
+    public String parserSingle(String sql, Object obj) {
+        return rewriteCache.get(new RewriteKey(sql, TenantHelper.getTenantId(), true),
+            k -> super.parserSingle(sql, obj));
+    }
+
+    @Override
+    public String parserMulti(String sql, Object obj) {
+        return rewriteCache.get(new RewriteKey(sql, TenantHelper.getTenantId(), false),
+            k -> super.parserMulti(sql, obj));
+    }
+
+    /**
+     * 改写结果缓存 key
+     */
+    private record RewriteKey(String sql, String tenantId, boolean single) {
+    }
+
+}
@@ -5,10 +5,12 @@ import org.dromara.common.translation.annotation.TranslationType;
 import org.dromara.common.translation.core.TranslationInterface;
 import org.dromara.common.translation.core.handler.TranslationBeanSerializerModifier;
 import org.dromara.common.translation.core.handler.TranslationHandler;
+import org.dromara.common.translation.core.handler.TranslationResponseBodyAdvice;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.context.annotation.Bean;
 
 import java.util.HashMap;
 import java.util.List;
@@ -47,4 +49,12 @@ public class TranslationConfig {
                 .withSerializerModifier(new TranslationBeanSerializerModifier()));
     }
 
+    /**
+     * 批量翻译响应处理器
+     */
+    @Bean
+    public TranslationResponseBodyAdvice translationResponseBodyAdvice() {
+        return new TranslationResponseBodyAdvice();
+    }
+
 }
@@ -2,6 +2,10 @@ package org.dromara.common.translation.core;
 
 import org.dromara.common.translation.annotation.TranslationType;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * 翻译接口 (实现类需标注 {@link TranslationType} 注解标明翻译类型)
  *
@@ -17,4 +21,19 @@ public interface TranslationInterface<T> {
      * @return 返回键对应的值
      */
     T translation(Object key, String other);
+
+    /**
+     * 批量翻译 (默认逐个调用 {@link #translation(Object, String)} 实现类可覆盖为一次批量查询)
+     *
+     * @param keys  需要被翻译的键集合(不为空)
+     * @param other 其他参数
+     * @return 返回键与值的映射 (无法翻译的键对应 null)
+     */
+    default Map<Object, T> translationBatch(Set<Object> keys, String other) {
+        Map<Object, T> map = new HashMap<>(keys.size());
+        for (Object key : keys) {
+            map.put(key, translation(key, other));
+        }
+        return map;
+    }
 }
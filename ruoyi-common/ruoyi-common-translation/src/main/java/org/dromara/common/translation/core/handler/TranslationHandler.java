@@ -12,6 +12,8 @@ import org.dromara.common.core.utils.reflect.ReflectUtils;
 import org.dromara.common.translation.annotation.Translation;
 import org.dromara.common.translation.core.TranslationInterface;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.io.IOException;
 import java.util.Map;
@@ -31,6 +33,11 @@ public class TranslationHandler extends JsonSerializer<Object> implements Contex
      */
     public static final Map<String, TranslationInterface<?>> TRANSLATION_MAPPER = new ConcurrentHashMap<>();
 
+    /**
+     * 批量翻译结果在请求属性中的键 (由 {@link TranslationResponseBodyAdvice} 写入)
+     */
+    public static final String BATCH_RESULT_ATTRIBUTE = TranslationHandler.class.getName() + ".BATCH_RESULT";
+
     private Translation translation;
 
     @Override
@@ -46,13 +53,28 @@ public class TranslationHandler extends JsonSerializer<Object> implements Contex
                 gen.writeNull();
                 return;
             }
-            Object result = trans.translation(value, translation.other());
+            Object result = translate(trans, value);
             gen.writeObject(result);
         } else {
             gen.writeObject(value);
         }
     }
 
+    /**
+     * 优先读取当前请求的批量翻译结果 未命中时逐个翻译
+     */
+    private Object translate(TranslationInterface<?> trans, Object value) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+            && attributes.getAttribute(BATCH_RESULT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Map<?, ?> batch) {
+            Map<?, ?> results = (Map<?, ?>) batch.get(new TranslationResponseBodyAdvice.BatchKey(translation.type(), translation.other()));
+            if (results != null && results.containsKey(value)) {
+                return results.get(value);
+            }
+        }
+        return trans.translation(value, translation.other());
+    }
+
     @Override
     public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) throws JsonMappingException {
         Translation translation = property.getAnnotation(Translation.class);
@@ -0,0 +1,162 @@
+package org.dromara.common.translation.core.handler;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.core.utils.reflect.ReflectUtils;
+import org.dromara.common.translation.annotation.Translation;
+import org.dromara.common.translation.core.TranslationInterface;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 批量翻译响应处理器
+ * <p>
+ * 序列化前遍历响应对象 按翻译类型收集全部待翻译的键 每种类型只调用一次 {@link TranslationInterface#translationBatch}
+ * 结果存入当前请求 由 {@link TranslationHandler} 序列化时直接读取 列表接口的翻译次数不再随行数增长
+ *
+ * @author Lion Li
+ */
+@Slf4j
+@RestControllerAdvice
+public class TranslationResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * 只遍历项目内的类型 (R/TableDataInfo/Vo 等)
+     */
+    private static final String BASE_PACKAGE = "org.dromara.";
+
+    /**
+     * 类与其翻译字段/嵌套字段的映射缓存
+     */
+    private static final Map<Class<?>, ClassFields> FIELD_CACHE = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || TranslationHandler.TRANSLATION_MAPPER.isEmpty()
+            || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        try {
+            Map<BatchKey, Set<Object>> keys = new HashMap<>();
+            collect(body, keys, Collections.newSetFromMap(new IdentityHashMap<>()));
+            if (keys.isEmpty()) {
+                return body;
+            }
+            Map<BatchKey, Map<Object, Object>> results = new HashMap<>(keys.size());
+            keys.forEach((key, values) -> {
+                TranslationInterface<?> trans = TranslationHandler.TRANSLATION_MAPPER.get(key.type());
+                Map<Object, Object> result = new HashMap<>(trans.translationBatch(values, key.other()));
+                // 未返回的键同样记为已翻译 避免序列化时再逐个查询
+                values.forEach(value -> result.putIfAbsent(value, null));
+                results.put(key, result);
+            });
+            servletRequest.getServletRequest().setAttribute(TranslationHandler.BATCH_RESULT_ATTRIBUTE, results);
+        } catch (Exception e) {
+            // 批量翻译失败时回退为序列化时逐个翻译
+            log.error("批量翻译异常 => {}", e.getMessage());
+        }
+        return body;
+    }
+
+    /**
+     * 递归收集对象中需要翻译的键
+     *
+     * @param obj     当前对象
+     * @param keys    翻译类型与键集合的映射
+     * @param visited 已访问对象 (防止循环引用)
+     */
+    private void collect(Object obj, Map<BatchKey, Set<Object>> keys, Set<Object> visited) {
+        if (obj == null || BeanUtils.isSimpleValueType(obj.getClass()) || !visited.add(obj)) {
+            return;
+        }
+        if (obj instanceof Iterable<?> iterable) {
+            for (Object item : iterable) {
+                collect(item, keys, visited);
+            }
+        } else if (obj instanceof Map<?, ?> map) {
+            for (Object item : map.values()) {
+                collect(item, keys, visited);
+            }
+        } else if (obj instanceof Object[] array) {
+            for (Object item : array) {
+                collect(item, keys, visited);
+            }
+        } else if (obj.getClass().getName().startsWith(BASE_PACKAGE)) {
+            ClassFields fields = FIELD_CACHE.computeIfAbsent(obj.getClass(), TranslationResponseBodyAdvice::resolveFields);
+            for (Map.Entry<Field, Translation> entry : fields.translations().entrySet()) {
+                Translation translation = entry.getValue();
+                if (!TranslationHandler.TRANSLATION_MAPPER.containsKey(translation.type())) {
+                    continue;
+                }
+                // 与序列化时的取值方式保持一致
+                Object value = StringUtils.isNotBlank(translation.mapper())
+                    ? ReflectUtils.invokeGetter(obj, translation.mapper())
+                    : ReflectUtils.getFieldValue(obj, entry.getKey());
+                if (value != null) {
+                    keys.computeIfAbsent(new BatchKey(translation.type(), translation.other()), k -> new HashSet<>())
+                        .add(value);
+                }
+            }
+            for (Field field : fields.nested()) {
+                collect(ReflectUtils.getFieldValue(obj, field), keys, visited);
+            }
+        }
+    }
+
+    /**
+     * 解析类中的翻译字段与可能包含翻译字段的嵌套字段
+     */
+    private static ClassFields resolveFields(Class<?> clazz) {
+        Map<Field, Translation> translations = new LinkedHashMap<>();
+        List<Field> nested = new ArrayList<>();
+        for (Field field : ReflectUtils.getFields(clazz)) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isAnnotationPresent(JsonIgnore.class)) {
+                continue;
+            }
+            Translation translation = field.getAnnotation(Translation.class);
+            if (translation != null) {
+                translations.put(field, translation);
+            } else if (!BeanUtils.isSimpleValueType(field.getType())) {
+                nested.add(field);
+            }
+        }
+        return new ClassFields(translations, nested);
+    }
+
+    /**
+     * 批量翻译结果的分组 key
+     *
+     * @param type  翻译类型
+     * @param other 其他条件
+     */
+    record BatchKey(String type, String other) {
+    }
+
+    /**
+     * 类的翻译字段与嵌套字段
+     */
+    private record ClassFields(Map<Field, Translation> translations, List<Field> nested) {
+    }
+
+}
@@ -7,6 +7,12 @@ import org.dromara.common.translation.constant.TransConstant;
 import org.dromara.common.translation.core.TranslationInterface;
 import lombok.AllArgsConstructor;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * 字典翻译实现
  *
@@ -25,4 +31,29 @@ public class DictTypeTranslationImpl implements TranslationInterface<String> {
         }
         return null;
     }
+
+    @Override
+    public Map<Object, String> translationBatch(Set<Object> keys, String other) {
+        Map<Object, String> map = new HashMap<>(keys.size());
+        if (StringUtils.isBlank(other)) {
+            keys.forEach(key -> map.put(key, null));
+            return map;
+        }
+        // 同一字典类型只获取一次字典数据
+        Map<String, String> dict = dictService.getAllDictByDictType(other);
+        for (Object key : keys) {
+            if (key instanceof String dictValue) {
+                if (StringUtils.containsAny(dictValue, DictService.SEPARATOR)) {
+                    map.put(key, Arrays.stream(dictValue.split(DictService.SEPARATOR))
+                        .map(v -> dict.getOrDefault(v, StringUtils.EMPTY))
+                        .collect(Collectors.joining(DictService.SEPARATOR)));
+                } else {
+                    map.put(key, dict.getOrDefault(dictValue, StringUtils.EMPTY));
+                }
+            } else {
+                map.put(key, null);
+            }
+        }
+        return map;
+    }
 }
@@ -1,11 +1,22 @@
 package org.dromara.common.translation.core.impl;
 
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.ObjectUtil;
 import lombok.AllArgsConstructor;
 import org.dromara.common.core.service.UserService;
+import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.translation.annotation.TranslationType;
 import org.dromara.common.translation.constant.TransConstant;
 import org.dromara.common.translation.core.TranslationInterface;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * 用户名称翻译实现
  *
@@ -26,4 +37,41 @@ public class NicknameTranslationImpl implements TranslationInterface<String> {
         }
         return null;
     }
+
+    @Override
+    public Map<Object, String> translationBatch(Set<Object> keys, String other) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Object key : keys) {
+            ids.addAll(splitIds(key));
+        }
+        Map<Long, String> values = userService.selectNicknamesByIds(new ArrayList<>(ids));
+        Map<Object, String> map = new HashMap<>(keys.size());
+        for (Object key : keys) {
+            if (key instanceof String || key instanceof Long) {
+                List<String> list = new ArrayList<>();
+                for (Long id : splitIds(key)) {
+                    String value = values.get(id);
+                    if (StringUtils.isNotBlank(value)) {
+                        list.add(value);
+                    }
+                }
+                map.put(key, String.join(StringUtils.SEPARATOR, list));
+            } else {
+                map.put(key, null);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 解析键中的 id (支持 Long 与逗号分隔的字符串)
+     */
+    private List<Long> splitIds(Object key) {
+        if (key instanceof Long id) {
+            return List.of(id);
+        } else if (key instanceof String ids) {
+            return StreamUtils.filter(StringUtils.splitTo(ids, Convert::toLong), ObjectUtil::isNotNull);
+        }
+        return List.of();
+    }
 }
@@ -1,11 +1,22 @@
 package org.dromara.common.translation.core.impl;
 
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.ObjectUtil;
 import org.dromara.common.core.service.OssService;
+import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.translation.annotation.TranslationType;
 import org.dromara.common.translation.constant.TransConstant;
 import org.dromara.common.translation.core.TranslationInterface;
 import lombok.AllArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * OSS翻译实现
  *
@@ -26,4 +37,41 @@ public class OssUrlTranslationImpl implements TranslationInterface<String> {
         }
         return null;
     }
+
+    @Override
+    public Map<Object, String> translationBatch(Set<Object> keys, String other) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Object key : keys) {
+            ids.addAll(splitIds(key));
+        }
+        Map<Long, String> values = ossService.selectUrlsByIds(new ArrayList<>(ids));
+        Map<Object, String> map = new HashMap<>(keys.size());
+        for (Object key : keys) {
+            if (key instanceof String || key instanceof Long) {
+                List<String> list = new ArrayList<>();
+                for (Long id : splitIds(key)) {
+                    String value = values.get(id);
+                    if (ObjectUtil.isNotNull(value)) {
+                        list.add(value);
+                    }
+                }
+                map.put(key, String.join(StringUtils.SEPARATOR, list));
+            } else {
+                map.put(key, null);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 解析键中的 id (支持 Long 与逗号分隔的字符串)
+     */
+    private List<Long> splitIds(Object key) {
+        if (key instanceof Long id) {
+            return List.of(id);
+        } else if (key instanceof String ids) {
+            return StreamUtils.filter(StringUtils.splitTo(ids, Convert::toLong), ObjectUtil::isNotNull);
+        }
+        return List.of();
+    }
 }
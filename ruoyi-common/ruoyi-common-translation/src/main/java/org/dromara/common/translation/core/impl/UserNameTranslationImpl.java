@@ -6,6 +6,12 @@ import org.dromara.common.translation.constant.TransConstant;
 import org.dromara.common.translation.core.TranslationInterface;
 import lombok.AllArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * 用户名翻译实现
  *
@@ -24,4 +30,20 @@ public class UserNameTranslationImpl implements TranslationInterface<String> {
         }
         return null;
     }
+
+    @Override
+    public Map<Object, String> translationBatch(Set<Object> keys, String other) {
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            if (key instanceof Long id) {
+                ids.add(id);
+            }
+        }
+        Map<Long, String> names = userService.selectUserNamesByIds(ids);
+        Map<Object, String> map = new HashMap<>(keys.size());
+        for (Object key : keys) {
+            map.put(key, key instanceof Long id ? names.get(id) : null);
+        }
+        return map;
+    }
 }
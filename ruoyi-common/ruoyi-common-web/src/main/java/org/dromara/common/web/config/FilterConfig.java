@@ -1,21 +1,33 @@
 package org.dromara.common.web.config;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import jakarta.servlet.DispatcherType;
 import org.dromara.common.web.config.properties.XssProperties;
 import org.dromara.common.web.filter.RepeatableFilter;
 import org.dromara.common.web.filter.XssFilter;
+import org.dromara.common.web.filter.XssHttpServletRequestWrapper;
+import org.dromara.common.web.handler.XssStringJsonDeserializer;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
 
 /**
  * Filter配置
  *
  * @author Lion Li
  */
-@AutoConfiguration
+@AutoConfiguration(before = HttpMessageConvertersAutoConfiguration.class)
 @EnableConfigurationProperties(XssProperties.class)
 public class FilterConfig {
 
@@ -31,6 +43,34 @@ public class FilterConfig {
         return registration;
     }
 
+    /**
+     * json 请求体字符串 XSS 过滤
+     */
+    @Bean
+    @ConditionalOnProperty(value = "xss.enabled", havingValue = "true")
+    public Jackson2ObjectMapperBuilderCustomizer xssJacksonCustomizer() {
+        return builder -> builder.deserializerByType(String.class, new XssStringJsonDeserializer());
+    }
+
+    /**
+     * 读取经过 XssFilter 的请求体时开启字符串过滤
+     */
+    @Bean
+    @ConditionalOnProperty(value = "xss.enabled", havingValue = "true")
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected ObjectReader customizeReader(ObjectReader reader, JavaType javaType) {
+                RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+                if (attributes instanceof ServletRequestAttributes servletRequestAttributes
+                    && WebUtils.getNativeRequest(servletRequestAttributes.getRequest(), XssHttpServletRequestWrapper.class) != null) {
+                    return reader.withAttribute(XssStringJsonDeserializer.XSS_ATTRIBUTE, Boolean.TRUE);
+                }
+                return reader;
+            }
+        };
+    }
+
     @Bean
     public FilterRegistrationBean<RepeatableFilter> someFilterRegistration() {
         FilterRegistrationBean<RepeatableFilter> registration = new FilterRegistrationBean<>();
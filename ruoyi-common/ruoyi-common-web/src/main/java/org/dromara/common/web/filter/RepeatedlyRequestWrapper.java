@@ -1,6 +1,5 @@
 package org.dromara.common.web.filter;
 
-import cn.hutool.core.io.IoUtil;
 import org.dromara.common.core.constant.Constants;
 
 import jakarta.servlet.ReadListener;
@@ -12,14 +11,25 @@ import jakarta.servlet.http.HttpServletRequestWrapper;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * 构建可重复读取inputStream的request
+ * <p>
+ * 请求体只读取一次到一个缓冲区 之后每次读取(参数绑定/日志)都直接基于该缓冲区 不再复制
  *
  * @author ruoyi
  */
 public class RepeatedlyRequestWrapper extends HttpServletRequestWrapper {
+
+    /**
+     * 按 Content-Length 预分配缓冲区的上限 超过时按实际读取的数据扩容(避免伪造的长度导致大内存分配)
+     */
+    private static final int MAX_PREALLOCATE_SIZE = 8 * 1024 * 1024;
+
     private final byte[] body;
 
     public RepeatedlyRequestWrapper(HttpServletRequest request, ServletResponse response) throws IOException {
@@ -27,12 +37,22 @@ public class RepeatedlyRequestWrapper extends HttpServletRequestWrapper {
         request.setCharacterEncoding(Constants.UTF8);
         response.setCharacterEncoding(Constants.UTF8);
 
-        body = IoUtil.readBytes(request.getInputStream(), false);
+        body = readBody(request.getInputStream(), request.getContentLength());
     }
 
     @Override
     public BufferedReader getReader() throws IOException {
-        return new BufferedReader(new InputStreamReader(getInputStream()));
+        return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
     }
 
     @Override
@@ -44,19 +64,24 @@ public class RepeatedlyRequestWrapper extends HttpServletRequestWrapper {
                 return bais.read();
             }
 
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return bais.read(b, off, len);
+            }
+
             @Override
             public int available() throws IOException {
-                return body.length;
+                return bais.available();
             }
 
             @Override
             public boolean isFinished() {
-                return false;
+                return bais.available() == 0;
             }
 
             @Override
             public boolean isReady() {
-                return false;
+                return true;
             }
 
             @Override
@@ -65,4 +90,31 @@ public class RepeatedlyRequestWrapper extends HttpServletRequestWrapper {
             }
         };
     }
+
+    /**
+     * 获取请求体内容(用于日志打印)
+     *
+     * @param maxLength 最大字节数 超出部分截断
+     * @return 请求体内容
+     */
+    public String getBodyString(int maxLength) {
+        if (body.length <= maxLength) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        // 截断位置回退到完整的 UTF-8 字符边界
+        int end = maxLength;
+        while (end > 0 && (body[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return new String(body, 0, end, StandardCharsets.UTF_8) + "...(共" + body.length + "字节)";
+    }
+
+    private static byte[] readBody(InputStream in, int contentLength) throws IOException {
+        if (contentLength < 0 || contentLength > MAX_PREALLOCATE_SIZE) {
+            return in.readAllBytes();
+        }
+        byte[] buffer = new byte[contentLength];
+        int read = in.readNBytes(buffer, 0, contentLength);
+        return read == contentLength ? buffer : Arrays.copyOf(buffer, read);
+    }
 }
@@ -0,0 +1,41 @@
+package org.dromara.common.web.handler;
+
+import cn.hutool.http.HtmlUtil;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+
+/**
+ * json 字符串 XSS 过滤反序列化器
+ * <p>
+ * 只在读取经过 XssFilter 的请求体时生效(由读取器属性 {@link #XSS_ATTRIBUTE} 标记) 其他场景原样返回
+ * 只处理字符串值 不再对整个请求体做正则替换
+ *
+ * @author Lion Li
+ */
+public class XssStringJsonDeserializer extends JsonDeserializer<String> {
+
+    /**
+     * 读取器属性 存在时过滤字符串中的 html 标签
+     */
+    public static final String XSS_ATTRIBUTE = XssStringJsonDeserializer.class.getName() + ".ENABLED";
+
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String value = StringDeserializer.instance.deserialize(p, ctxt);
+        // 不含标签起始符的字符串无需过滤
+        if (value == null || value.indexOf('<') < 0 || ctxt.getAttribute(XSS_ATTRIBUTE) == null) {
+            return value;
+        }
+        return HtmlUtil.cleanHtmlTag(value);
+    }
+
+    @Override
+    public Class<?> handledType() {
+        return String.class;
+    }
+
+}
@@ -1,6 +1,5 @@
 package org.dromara.common.web.interceptor;
 
-import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.map.MapUtil;
 import cn.hutool.core.util.ObjectUtil;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,7 +13,6 @@ import org.springframework.http.MediaType;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
-import java.io.BufferedReader;
 import java.util.Map;
 
 /**
@@ -28,6 +26,11 @@ public class PlusWebInvokeTimeInterceptor implements HandlerInterceptor {
 
     private final static ThreadLocal<StopWatch> KEY_CACHE = new ThreadLocal<>();
 
+    /**
+     * 日志中打印的请求体最大字节数
+     */
+    private final static int MAX_LOG_BODY_LENGTH = 4096;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         String url = request.getMethod() + " " + request.getRequestURI();
@@ -35,9 +38,9 @@ public class PlusWebInvokeTimeInterceptor implements HandlerInterceptor {
         // 打印请求参数
         if (isJsonRequest(request)) {
             String jsonParam = "";
-            if (request instanceof RepeatedlyRequestWrapper) {
-                BufferedReader reader = request.getReader();
-                jsonParam = IoUtil.read(reader);
+            if (request instanceof RepeatedlyRequestWrapper repeatedlyRequest) {
+                // 直接基于已缓存的请求体 超长部分截断
+                jsonParam = repeatedlyRequest.getBodyString(MAX_LOG_BODY_LENGTH);
             }
             log.info("[PLUS]开始请求 => URL[{}],参数类型[json],参数:[{}]", url, jsonParam);
         } else {
@@ -1,19 +1,34 @@
 package org.dromara.common.websocket.config;
 
 import cn.hutool.core.util.StrUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.websocket.config.properties.WebSocketProperties;
+import org.dromara.common.websocket.core.BufferedWebSocketSession;
 import org.dromara.common.websocket.handler.PlusWebSocketHandler;
+import org.dromara.common.websocket.holder.WebSocketSessionHolder;
 import org.dromara.common.websocket.interceptor.PlusWebSocketInterceptor;
 import org.dromara.common.websocket.listener.WebSocketTopicListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.server.HandshakeInterceptor;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 /**
  * WebSocket 配置
  *
@@ -52,8 +67,35 @@ public class WebSocketConfig {
     }
 
     @Bean
-    public WebSocketHandler webSocketHandler() {
-        return new PlusWebSocketHandler();
+    public WebSocketHandler webSocketHandler(WebSocketProperties webSocketProperties,
+                                             @Qualifier("webSocketSendExecutor") Executor webSocketSendExecutor) {
+        return new PlusWebSocketHandler(webSocketProperties, webSocketSendExecutor);
+    }
+
+    /**
+     * WebSocket 消息发送线程池 各会话独立排队写出 慢客户端只占用一个发送线程
+     * <p>
+     * 同时注册发送指标 待发送消息数/丢弃消息数/本节点会话数
+     */
+    @Bean
+    public Executor webSocketSendExecutor(WebSocketProperties webSocketProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("websocket.send.queued", BufferedWebSocketSession::getQueuedCount)
+                .description("待发送的 WebSocket 消息数").register(registry);
+            FunctionCounter.builder("websocket.send.dropped", BufferedWebSocketSession.class,
+                    clazz -> BufferedWebSocketSession.getDroppedCount())
+                .description("因慢客户端丢弃的 WebSocket 消息数").register(registry);
+            Gauge.builder("websocket.sessions", WebSocketSessionHolder::getSessionCount)
+                .description("本节点 WebSocket 会话数").register(registry);
+        });
+        if (SpringUtils.isVirtual()) {
+            return new VirtualThreadTaskExecutor("websocket-send-");
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(webSocketProperties.getSendPoolSize(),
+            webSocketProperties.getSendPoolSize(), 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new BasicThreadFactory.Builder().namingPattern("websocket-send-%d").daemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     @Bean
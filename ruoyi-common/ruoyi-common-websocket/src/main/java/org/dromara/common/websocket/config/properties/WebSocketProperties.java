@@ -2,6 +2,7 @@ package org.dromara.common.websocket.config.properties;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator.OverflowStrategy;
 
 /**
  * WebSocket 配置项
@@ -23,4 +24,24 @@ public class WebSocketProperties {
      *  设置访问源地址
      */
     private String allowedOrigins;
+
+    /**
+     * 单条消息发送耗时上限(毫秒) 超过后判定为慢客户端并关闭会话
+     */
+    private int sendTimeLimit = 10 * 1000;
+
+    /**
+     * 单个会话待发送数据的缓冲上限(字节)
+     */
+    private int bufferSizeLimit = 512 * 1024;
+
+    /**
+     * 缓冲超限时的处理策略 DROP 丢弃最早的消息 TERMINATE 关闭会话
+     */
+    private OverflowStrategy overflowStrategy = OverflowStrategy.DROP;
+
+    /**
+     * 发送线程数 (开启虚拟线程时不生效)
+     */
+    private int sendPoolSize = 32;
 }
@@ -0,0 +1,203 @@
+package org.dromara.common.websocket.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.websocket.config.properties.WebSocketProperties;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator.OverflowStrategy;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 带独立发送队列的 WebSocket 会话
+ * <p>
+ * 发送消息只入队不阻塞调用方 由发送线程池按会话顺序写出 同一会话同一时刻只有一个线程写出
+ * 慢客户端只占用一个发送线程 超过发送耗时上限时关闭会话 超过缓冲上限时按策略丢弃最早的消息或关闭会话
+ *
+ * @author zendwang
+ */
+@Slf4j
+public class BufferedWebSocketSession extends WebSocketSessionDecorator {
+
+    /**
+     * 全部会话中待发送的消息数
+     */
+    private static final AtomicInteger QUEUED = new AtomicInteger();
+
+    /**
+     * 因缓冲超限或会话被关闭而丢弃的消息数
+     */
+    private static final AtomicLong DROPPED = new AtomicLong();
+
+    private final Executor executor;
+    private final int sendTimeLimit;
+    private final int bufferSizeLimit;
+    private final OverflowStrategy overflowStrategy;
+
+    private final Queue<WebSocketMessage<?>> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferSize = new AtomicInteger();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private volatile long sendStartTime;
+    private volatile boolean closed;
+
+    public BufferedWebSocketSession(WebSocketSession delegate, Executor executor, WebSocketProperties properties) {
+        super(delegate);
+        this.executor = executor;
+        this.sendTimeLimit = properties.getSendTimeLimit();
+        this.bufferSizeLimit = properties.getBufferSizeLimit();
+        this.overflowStrategy = properties.getOverflowStrategy();
+    }
+
+    /**
+     * 全部会话中待发送的消息数
+     */
+    public static int getQueuedCount() {
+        return QUEUED.get();
+    }
+
+    /**
+     * 累计丢弃的消息数
+     */
+    public static long getDroppedCount() {
+        return DROPPED.get();
+    }
+
+    /**
+     * 当前会话待发送的字节数
+     */
+    public int getBufferSize() {
+        return bufferSize.get();
+    }
+
+    /**
+     * 消息入队 由发送线程异步写出
+     *
+     * @param message 要发送的消息
+     */
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        if (closed) {
+            DROPPED.incrementAndGet();
+            return;
+        }
+        buffer.add(message);
+        bufferSize.addAndGet(message.getPayloadLength());
+        QUEUED.incrementAndGet();
+        if (checkSessionLimits()) {
+            scheduleFlush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        close(CloseStatus.NORMAL);
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        closed = true;
+        discardBuffer(false);
+        super.close(status);
+    }
+
+    private void scheduleFlush() {
+        if (flushing.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flushing.set(false);
+                log.warn("[send] session({}) 发送任务被拒绝", getId());
+            }
+        }
+    }
+
+    private void flush() {
+        try {
+            WebSocketMessage<?> message;
+            while (!closed && (message = buffer.poll()) != null) {
+                dequeued(message);
+                sendStartTime = System.currentTimeMillis();
+                try {
+                    getDelegate().sendMessage(message);
+                } catch (IOException e) {
+                    log.error("[send] session({}) 发送消息异常: {}", getId(), e.getMessage());
+                } finally {
+                    sendStartTime = 0;
+                }
+            }
+        } finally {
+            flushing.set(false);
+        }
+        // 释放标记前可能有新消息入队
+        if (!closed && !buffer.isEmpty()) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * 检查慢客户端限制
+     *
+     * @return 会话是否仍可继续发送
+     */
+    private boolean checkSessionLimits() {
+        long start = sendStartTime;
+        if (start > 0 && System.currentTimeMillis() - start > sendTimeLimit) {
+            terminate("发送耗时超过 " + sendTimeLimit + " ms");
+            return false;
+        }
+        if (bufferSize.get() > bufferSizeLimit) {
+            if (overflowStrategy == OverflowStrategy.TERMINATE) {
+                terminate("待发送数据超过 " + bufferSizeLimit + " 字节");
+                return false;
+            }
+            // 丢弃最早的消息直到低于上限
+            while (bufferSize.get() > bufferSizeLimit) {
+                WebSocketMessage<?> message = buffer.poll();
+                if (message == null) {
+                    break;
+                }
+                dequeued(message);
+                DROPPED.incrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    private void terminate(String reason) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        discardBuffer(true);
+        log.warn("[send] session({}) 客户端过慢 关闭会话: {}", getId(), reason);
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception ignored) {
+        }
+    }
+
+    private void discardBuffer(boolean countDropped) {
+        WebSocketMessage<?> message;
+        while ((message = buffer.poll()) != null) {
+            dequeued(message);
+            if (countDropped) {
+                DROPPED.incrementAndGet();
+            }
+        }
+    }
+
+    private void dequeued(WebSocketMessage<?> message) {
+        bufferSize.addAndGet(-message.getPayloadLength());
+        QUEUED.decrementAndGet();
+    }
+
+}
@@ -1,8 +1,11 @@
 package org.dromara.common.websocket.handler;
 
 import cn.hutool.core.util.ObjectUtil;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.common.core.domain.model.LoginUser;
+import org.dromara.common.websocket.config.properties.WebSocketProperties;
+import org.dromara.common.websocket.core.BufferedWebSocketSession;
 import org.dromara.common.websocket.dto.WebSocketMessageDto;
 import org.dromara.common.websocket.holder.WebSocketSessionHolder;
 import org.dromara.common.websocket.utils.WebSocketUtils;
@@ -11,6 +14,7 @@ import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static org.dromara.common.websocket.constant.WebSocketConstants.LOGIN_USER_KEY;
 
@@ -20,8 +24,16 @@ import static org.dromara.common.websocket.constant.WebSocketConstants.LOGIN_USE
  * @author zendwang
  */
 @Slf4j
+@RequiredArgsConstructor
 public class PlusWebSocketHandler extends AbstractWebSocketHandler {
 
+    private final WebSocketProperties webSocketProperties;
+
+    /**
+     * 消息发送线程池
+     */
+    private final Executor sendExecutor;
+
     /**
      * 连接成功后
      */
@@ -33,7 +45,9 @@ public class PlusWebSocketHandler extends AbstractWebSocketHandler {
             log.info("[connect] invalid token received. sessionId: {}", session.getId());
             return;
         }
-        WebSocketSessionHolder.addSession(loginUser.getUserId(), session);
+        // 使用带独立发送队列的会话 慢客户端不会阻塞其他会话的消息发送
+        WebSocketSessionHolder.addSession(loginUser.getUserId(),
+            new BufferedWebSocketSession(session, sendExecutor, webSocketProperties));
         log.info("[connect] sessionId: {},userId:{},userType:{}", session.getId(), loginUser.getUserId(), loginUser.getUserType());
     }
 
@@ -77,7 +91,10 @@ public class PlusWebSocketHandler extends AbstractWebSocketHandler {
      */
     @Override
     protected void handlePongMessage(WebSocketSession session, PongMessage message) throws Exception {
-        WebSocketUtils.sendPongMessage(session);
+        // 通过会话的发送队列回复 避免与队列中的消息并发写出
+        LoginUser loginUser = (LoginUser) session.getAttributes().get(LOGIN_USER_KEY);
+        WebSocketSession buffered = ObjectUtil.isNull(loginUser) ? null : WebSocketSessionHolder.getSession(loginUser.getUserId(), session.getId());
+        WebSocketUtils.sendPongMessage(buffered != null ? buffered : session);
     }
 
     /**
@@ -105,7 +122,8 @@ public class PlusWebSocketHandler extends AbstractWebSocketHandler {
             log.info("[disconnect] invalid token received. sessionId: {}", session.getId());
             return;
         }
-        WebSocketSessionHolder.removeSession(loginUser.getUserId());
+        // 只移除当前会话 同一用户的其他会话不受影响
+        WebSocketSessionHolder.removeSession(loginUser.getUserId(), session.getId());
         log.info("[disconnect] sessionId: {},userId:{},userType:{}", session.getId(), loginUser.getUserId(), loginUser.getUserType());
     }
 
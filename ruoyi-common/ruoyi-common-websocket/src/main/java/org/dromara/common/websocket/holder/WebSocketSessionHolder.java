@@ -2,22 +2,35 @@ package org.dromara.common.websocket.holder;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import org.dromara.common.redis.manager.PresenceManager;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * WebSocketSession 用于保存当前所有在线的会话信息
+ * <p>
+ * 同一用户可同时持有多个会话(多标签页/多端) 会话所在节点登记到 redis 用于跨节点消息路由
  *
  * @author zendwang
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class WebSocketSessionHolder {
 
-    private static final Map<Long, WebSocketSession> USER_SESSION_MAP = new ConcurrentHashMap<>();
+    /**
+     * 在线会话 key为用户id value为该用户的会话(key为会话id)
+     */
+    private static final Map<Long, Map<String, WebSocketSession>> USER_SESSION_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * WebSocket 在线状态注册表
+     */
+    public static final PresenceManager PRESENCE = new PresenceManager("websocket");
 
     /**
      * 将WebSocket会话添加到用户会话Map中
@@ -26,31 +39,64 @@ public class WebSocketSessionHolder {
      * @param session    要添加的WebSocket会话
      */
     public static void addSession(Long sessionKey, WebSocketSession session) {
-        removeSession(sessionKey);
-        USER_SESSION_MAP.put(sessionKey, session);
+        USER_SESSION_MAP.computeIfAbsent(sessionKey, k -> new ConcurrentHashMap<>()).put(session.getId(), session);
+        PRESENCE.online(sessionKey, session.getId());
     }
 
     /**
-     * 从用户会话Map中移除指定会话键对应的WebSocket会话
+     * 从用户会话Map中移除指定的WebSocket会话
+     *
+     * @param sessionKey 会话键
+     * @param sessionId  要移除的会话id
+     */
+    public static void removeSession(Long sessionKey, String sessionId) {
+        USER_SESSION_MAP.computeIfPresent(sessionKey, (k, sessions) -> {
+            sessions.remove(sessionId);
+            return sessions.isEmpty() ? null : sessions;
+        });
+        PRESENCE.offline(sessionKey, sessionId);
+    }
+
+    /**
+     * 从用户会话Map中移除并关闭指定会话键对应的全部WebSocket会话
      *
      * @param sessionKey 要移除的会话键
      */
     public static void removeSession(Long sessionKey) {
-        WebSocketSession session = USER_SESSION_MAP.remove(sessionKey);
-        try {
-            session.close(CloseStatus.BAD_DATA);
-        } catch (Exception ignored) {
+        Map<String, WebSocketSession> sessions = USER_SESSION_MAP.remove(sessionKey);
+        if (sessions == null) {
+            return;
+        }
+        for (WebSocketSession session : sessions.values()) {
+            PRESENCE.offline(sessionKey, session.getId());
+            try {
+                session.close(CloseStatus.BAD_DATA);
+            } catch (Exception ignored) {
+            }
         }
     }
 
     /**
-     * 根据会话键从用户会话Map中获取WebSocket会话
+     * 根据会话键从用户会话Map中获取全部WebSocket会话
      *
      * @param sessionKey 要获取的会话键
-     * @return 与给定会话键对应的WebSocket会话，如果不存在则返回null
+     * @return 与给定会话键对应的WebSocket会话，如果不存在则返回空集合
      */
-    public static WebSocketSession getSessions(Long sessionKey) {
-        return USER_SESSION_MAP.get(sessionKey);
+    public static Collection<WebSocketSession> getSessions(Long sessionKey) {
+        Map<String, WebSocketSession> sessions = USER_SESSION_MAP.get(sessionKey);
+        return sessions == null ? List.of() : sessions.values();
+    }
+
+    /**
+     * 根据会话键与会话id获取WebSocket会话
+     *
+     * @param sessionKey 会话键
+     * @param sessionId  会话id
+     * @return WebSocket会话，如果不存在则返回null
+     */
+    public static WebSocketSession getSession(Long sessionKey, String sessionId) {
+        Map<String, WebSocketSession> sessions = USER_SESSION_MAP.get(sessionKey);
+        return sessions == null ? null : sessions.get(sessionId);
     }
 
     /**
@@ -62,6 +108,19 @@ public class WebSocketSessionHolder {
         return USER_SESSION_MAP.keySet();
     }
 
+    /**
+     * 获取当前节点的WebSocket会话总数
+     *
+     * @return 会话总数
+     */
+    public static int getSessionCount() {
+        int count = 0;
+        for (Map<String, WebSocketSession> sessions : USER_SESSION_MAP.values()) {
+            count += sessions.size();
+        }
+        return count;
+    }
+
     /**
      * 检查给定的会话键是否存在于用户会话Map中
      *
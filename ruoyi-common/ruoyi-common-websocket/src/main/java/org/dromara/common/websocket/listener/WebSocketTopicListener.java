@@ -2,19 +2,23 @@ package org.dromara.common.websocket.listener;
 
 import cn.hutool.core.collection.CollUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.websocket.holder.WebSocketSessionHolder;
 import org.dromara.common.websocket.utils.WebSocketUtils;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.core.Ordered;
 
+import java.util.concurrent.ScheduledExecutorService;
+
 /**
  * WebSocket 主题订阅监听器
  *
  * @author zendwang
  */
 @Slf4j
-public class WebSocketTopicListener implements ApplicationRunner, Ordered {
+public class WebSocketTopicListener implements ApplicationRunner, Ordered, DisposableBean {
 
     /**
      * 在Spring Boot应用程序启动时初始化WebSocket主题订阅监听器
@@ -24,7 +28,9 @@ public class WebSocketTopicListener implements ApplicationRunner, Ordered {
      */
     @Override
     public void run(ApplicationArguments args) throws Exception {
-        // 订阅WebSocket消息
+        // 上报当前节点心跳 其他节点据此向当前节点路由消息
+        WebSocketSessionHolder.PRESENCE.start(SpringUtils.getBean(ScheduledExecutorService.class));
+        // 订阅WebSocket消息(群发主题与当前节点主题)
         WebSocketUtils.subscribeMessage((message) -> {
             log.info("WebSocket主题订阅收到消息session keys={} message={}", message.getSessionKeys(), message.getMessage());
             // 如果key不为空就按照key发消息 如果为空就群发
@@ -43,6 +49,14 @@ public class WebSocketTopicListener implements ApplicationRunner, Ordered {
         log.info("初始化WebSocket主题订阅监听器成功");
     }
 
+    /**
+     * 应用关闭时当前节点下线
+     */
+    @Override
+    public void destroy() {
+        WebSocketSessionHolder.PRESENCE.stop();
+    }
+
     @Override
     public int getOrder() {
         return -1;
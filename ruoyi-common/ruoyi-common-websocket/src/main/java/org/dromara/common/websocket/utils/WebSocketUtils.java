@@ -1,9 +1,9 @@
 package org.dromara.common.websocket.utils;
 
-import cn.hutool.core.collection.CollUtil;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.NodeUtils;
 import org.dromara.common.redis.utils.RedisUtils;
 import org.dromara.common.websocket.dto.WebSocketMessageDto;
 import org.dromara.common.websocket.holder.WebSocketSessionHolder;
@@ -13,8 +13,9 @@ import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import static org.dromara.common.websocket.constant.WebSocketConstants.WEB_SOCKET_TOPIC;
@@ -29,50 +30,62 @@ import static org.dromara.common.websocket.constant.WebSocketConstants.WEB_SOCKE
 public class WebSocketUtils {
 
     /**
-     * 向指定的WebSocket会话发送消息
+     * 向指定用户的全部WebSocket会话发送消息
      *
      * @param sessionKey 要发送消息的用户id
      * @param message    要发送的消息内容
      */
     public static void sendMessage(Long sessionKey, String message) {
-        WebSocketSession session = WebSocketSessionHolder.getSessions(sessionKey);
-        sendMessage(session, message);
+        Collection<WebSocketSession> sessions = WebSocketSessionHolder.getSessions(sessionKey);
+        if (sessions.isEmpty()) {
+            return;
+        }
+        TextMessage textMessage = new TextMessage(message);
+        for (WebSocketSession session : sessions) {
+            sendMessage(session, textMessage);
+        }
     }
 
     /**
      * 订阅WebSocket消息主题，并提供一个消费者函数来处理接收到的消息
+     * <p>
+     * 同时订阅群发主题与当前节点的定向主题
      *
      * @param consumer 处理WebSocket消息的消费者函数
      */
     public static void subscribeMessage(Consumer<WebSocketMessageDto> consumer) {
         RedisUtils.subscribe(WEB_SOCKET_TOPIC, WebSocketMessageDto.class, consumer);
+        RedisUtils.subscribe(WebSocketSessionHolder.PRESENCE.getNodeTopic(), WebSocketMessageDto.class, consumer);
     }
 
     /**
      * 发布WebSocket订阅消息
+     * <p>
+     * 当前节点的会话直接发送 其他用户按在线状态注册表只发布到持有其会话的节点
      *
      * @param webSocketMessage 要发布的WebSocket消息对象
      */
     public static void publishMessage(WebSocketMessageDto webSocketMessage) {
-        List<Long> unsentSessionKeys = new ArrayList<>();
+        List<Long> sessionKeys = webSocketMessage.getSessionKeys();
         // 当前服务内session,直接发送消息
-        for (Long sessionKey : webSocketMessage.getSessionKeys()) {
+        for (Long sessionKey : sessionKeys) {
             if (WebSocketSessionHolder.existSession(sessionKey)) {
                 WebSocketUtils.sendMessage(sessionKey, webSocketMessage.getMessage());
-                continue;
             }
-            unsentSessionKeys.add(sessionKey);
         }
-        // 不在当前服务内session,发布订阅消息
-        if (CollUtil.isNotEmpty(unsentSessionKeys)) {
-            WebSocketMessageDto broadcastMessage = new WebSocketMessageDto();
-            broadcastMessage.setMessage(webSocketMessage.getMessage());
-            broadcastMessage.setSessionKeys(unsentSessionKeys);
-            RedisUtils.publish(WEB_SOCKET_TOPIC, broadcastMessage, consumer -> {
+        // 同一用户可能同时在其他服务内有session,按节点发布订阅消息
+        Map<String, List<Long>> routes = WebSocketSessionHolder.PRESENCE.route(sessionKeys);
+        routes.remove(NodeUtils.NODE_ID);
+        routes.forEach((nodeId, nodeSessionKeys) -> {
+            String topic = WebSocketSessionHolder.PRESENCE.getNodeTopic(nodeId);
+            WebSocketMessageDto nodeMessage = new WebSocketMessageDto();
+            nodeMessage.setMessage(webSocketMessage.getMessage());
+            nodeMessage.setSessionKeys(nodeSessionKeys);
+            RedisUtils.publish(topic, nodeMessage, consumer -> {
                 log.info(" WebSocket发送主题订阅消息topic:{} session keys:{} message:{}",
-                    WEB_SOCKET_TOPIC, unsentSessionKeys, webSocketMessage.getMessage());
+                    topic, nodeSessionKeys, webSocketMessage.getMessage());
             });
-        }
+        });
     }
 
     /**
@@ -109,11 +122,13 @@ public class WebSocketUtils {
 
     /**
      * 向指定的WebSocket会话发送WebSocket消息对象
+     * <p>
+     * 会话均带有独立的发送队列 此处只入队不阻塞 不同会话之间互不影响
      *
      * @param session WebSocket会话
      * @param message 要发送的WebSocket消息对象
      */
-    private synchronized static void sendMessage(WebSocketSession session, WebSocketMessage<?> message) {
+    private static void sendMessage(WebSocketSession session, WebSocketMessage<?> message) {
         if (session == null || !session.isOpen()) {
             log.warn("[send] session会话已经关闭");
         } else {
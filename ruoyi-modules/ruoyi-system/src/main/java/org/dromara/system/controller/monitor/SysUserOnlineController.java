@@ -1,5 +1,6 @@
 package org.dromara.system.controller.monitor;
 
+import cn.dev33.satoken.SaManager;
 import cn.dev33.satoken.annotation.SaCheckPermission;
 import cn.dev33.satoken.exception.NotLoginException;
 import cn.dev33.satoken.stp.StpUtil;
@@ -14,6 +15,7 @@ import org.dromara.common.log.annotation.Log;
 import org.dromara.common.log.enums.BusinessType;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
 import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.satoken.core.dao.PlusSaTokenDao;
 import org.dromara.common.web.core.BaseController;
 import org.dromara.system.domain.SysUserOnline;
 import org.springframework.web.bind.annotation.*;
@@ -44,16 +46,17 @@ public class SysUserOnlineController extends BaseController {
     @GetMapping("/list")
     public TableDataInfo<SysUserOnline> list(String ipaddr, String userName) {
         // 获取所有未过期的 token
-        Collection<String> keys = RedisUtils.keys(CacheConstants.ONLINE_TOKEN_KEY + "*");
-        List<UserOnlineDTO> userOnlineDTOList = new ArrayList<>();
-        for (String key : keys) {
-            String token = StringUtils.substringAfterLast(key, ":");
+        Collection<String> onlineTokens = getOnlineTokens();
+        preloadActiveTimeout(onlineTokens);
+        List<String> tokens = new ArrayList<>();
+        for (String token : onlineTokens) {
             // 如果已经过期则跳过
             if (StpUtil.stpLogic.getTokenActiveTimeoutByToken(token) < -1) {
                 continue;
             }
-            userOnlineDTOList.add(RedisUtils.getCacheObject(CacheConstants.ONLINE_TOKEN_KEY + token));
+            tokens.add(CacheConstants.ONLINE_TOKEN_KEY + token);
         }
+        List<UserOnlineDTO> userOnlineDTOList = RedisUtils.getMultiCacheObject(tokens);
         if (StringUtils.isNotEmpty(ipaddr) && StringUtils.isNotEmpty(userName)) {
             userOnlineDTOList = StreamUtils.filter(userOnlineDTOList, userOnline ->
                 StringUtils.equals(ipaddr, userOnline.getIpaddr()) &&
@@ -74,6 +77,39 @@ public class SysUserOnlineController extends BaseController {
         return TableDataInfo.build(userOnlineList);
     }
 
+    /**
+     * 批量预加载 token 的最后活跃时间 避免逐个 token 查询 redis
+     */
+    private void preloadActiveTimeout(Collection<String> tokens) {
+        // 通过持久层实例预加载 与逐个读取时使用相同的 key 前缀(如多租户的全局前缀)
+        if (SaManager.getSaTokenDao() instanceof PlusSaTokenDao dao) {
+            dao.preload(StreamUtils.toList(tokens, StpUtil.stpLogic::splicingKeyLastActiveTime));
+        }
+    }
+
+    /**
+     * 从在线用户索引获取当前租户的 token 索引未构建过时(如首次升级)扫描一次重建
+     * <p>
+     * 有序集合在最后一个成员移除后会被 redis 删除 因此以单独的标记 key 记录是否已构建
+     */
+    private Collection<String> getOnlineTokens() {
+        if (!RedisUtils.isExistsObject(CacheConstants.ONLINE_TOKEN_INDEX_BUILT_KEY)) {
+            for (String key : RedisUtils.keys(CacheConstants.ONLINE_TOKEN_KEY + "*")) {
+                String token = StringUtils.substringAfterLast(key, ":");
+                long ttl = RedisUtils.getTimeToLive(CacheConstants.ONLINE_TOKEN_KEY + token);
+                if (ttl == -2) {
+                    continue;
+                }
+                double expireAt = ttl == -1 ? Long.MAX_VALUE : System.currentTimeMillis() + ttl;
+                RedisUtils.addCacheScoredSet(CacheConstants.ONLINE_TOKEN_INDEX_KEY, token, expireAt);
+            }
+            RedisUtils.setCacheObject(CacheConstants.ONLINE_TOKEN_INDEX_BUILT_KEY, Boolean.TRUE);
+        }
+        // 清理已过期的 token
+        RedisUtils.delCacheScoredSetByScore(CacheConstants.ONLINE_TOKEN_INDEX_KEY, 0, System.currentTimeMillis());
+        return RedisUtils.getCacheScoredSetRange(CacheConstants.ONLINE_TOKEN_INDEX_KEY, 0, -1, false);
+    }
+
     /**
      * 强退用户
      *
@@ -97,10 +133,12 @@ public class SysUserOnlineController extends BaseController {
     public TableDataInfo<SysUserOnline> getInfo() {
         // 获取指定账号 id 的 token 集合
         List<String> tokenIds = StpUtil.getTokenValueListByLoginId(StpUtil.getLoginIdAsString());
-        List<UserOnlineDTO> userOnlineDTOList = tokenIds.stream()
+        preloadActiveTimeout(tokenIds);
+        List<String> keys = tokenIds.stream()
             .filter(token -> StpUtil.stpLogic.getTokenActiveTimeoutByToken(token) >= -1)
-            .map(token -> (UserOnlineDTO) RedisUtils.getCacheObject(CacheConstants.ONLINE_TOKEN_KEY + token))
+            .map(token -> CacheConstants.ONLINE_TOKEN_KEY + token)
             .collect(Collectors.toList());
+        List<UserOnlineDTO> userOnlineDTOList = RedisUtils.getMultiCacheObject(keys);
         //复制和处理 SysUserOnline 对象列表
         Collections.reverse(userOnlineDTOList);
         userOnlineDTOList.removeAll(Collections.singleton(null));
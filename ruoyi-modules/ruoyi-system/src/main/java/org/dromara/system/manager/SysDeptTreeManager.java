@@ -0,0 +1,106 @@
+package org.dromara.system.manager;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.constant.GlobalConstants;
+import org.dromara.common.core.constant.TenantConstants;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.mybatis.handler.PlusDataPermissionHandler;
+import org.dromara.common.mybatis.helper.DataPermissionHelper;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.tenant.helper.TenantHelper;
+import org.dromara.system.domain.SysDept;
+import org.dromara.system.mapper.SysDeptMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 部门树快照管理
+ * <p>
+ * 每个租户在本地持有一份不可变的部门树快照 部门变更时递增 redis 中的版本号
+ * 获取快照时比对版本号(单次 redis 读取) 版本不一致时重建 保证返回的部门树不滞后于已提交的变更
+ *
+ * @author Lion Li
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SysDeptTreeManager {
+
+    /**
+     * 部门树版本号 redis key 前缀
+     */
+    private static final String VERSION_KEY = GlobalConstants.GLOBAL_REDIS_KEY + "sys_dept_tree_version:";
+
+    private final SysDeptMapper deptMapper;
+
+    private final Map<String, SysDeptTreeSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 获取当前租户的部门树快照
+     *
+     * @return 部门树快照
+     */
+    public SysDeptTreeSnapshot getSnapshot() {
+        String tenantId = currentTenantId();
+        String versionKey = VERSION_KEY + tenantId;
+        long version = RedisUtils.getAtomicValue(versionKey);
+        SysDeptTreeSnapshot snapshot = snapshots.get(tenantId);
+        if (snapshot != null && snapshot.getVersion() == version) {
+            return snapshot;
+        }
+        snapshot = load(version);
+        // 构建期间部门发生变更 本次结果只使用不缓存
+        if (RedisUtils.getAtomicValue(versionKey) == version) {
+            snapshots.put(tenantId, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 部门变更后使当前租户的部门树失效
+     * <p>
+     * 存在事务时在事务提交后执行 避免其他请求在提交前以旧数据重建快照
+     * 同时通知各节点清空数据权限过滤条件缓存
+     */
+    public void invalidate() {
+        String tenantId = currentTenantId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(tenantId);
+                }
+            });
+        } else {
+            invalidate(tenantId);
+        }
+    }
+
+    private void invalidate(String tenantId) {
+        RedisUtils.incrAtomicValue(VERSION_KEY + tenantId);
+        snapshots.remove(tenantId);
+        PlusDataPermissionHandler.publishInvalidate();
+    }
+
+    private SysDeptTreeSnapshot load(long version) {
+        List<SysDept> depts = DataPermissionHelper.ignore(() -> deptMapper.selectList(new LambdaQueryWrapper<SysDept>()
+            .select(SysDept::getDeptId, SysDept::getParentId, SysDept::getAncestors)
+            .orderByAsc(SysDept::getOrderNum)
+            .orderByAsc(SysDept::getDeptId)));
+        SysDeptTreeSnapshot snapshot = SysDeptTreeSnapshot.build(version, depts);
+        log.debug("构建部门树快照 版本: {} 部门数量: {}", version, snapshot.size());
+        return snapshot;
+    }
+
+    private static String currentTenantId() {
+        return StringUtils.blankToDefault(TenantHelper.getTenantId(), TenantConstants.DEFAULT_TENANT_ID);
+    }
+
+}
@@ -0,0 +1,194 @@
+package org.dromara.system.manager;
+
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.system.domain.SysDept;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 部门树快照(单租户 不可变)
+ * <p>
+ * 部门按先序遍历存放在基本类型数组中 每个部门的子树是一段连续区间 [index, ends[index])
+ * 子孙查询为数组区间操作 无需访问数据库
+ *
+ * @author Lion Li
+ */
+public final class SysDeptTreeSnapshot {
+
+    private static final long[] EMPTY = new long[0];
+
+    /**
+     * 构建时的版本号
+     */
+    private final long version;
+
+    /**
+     * 先序排列的部门ID
+     */
+    private final long[] ids;
+
+    /**
+     * 子树结束下标(不含)
+     */
+    private final int[] ends;
+
+    /**
+     * 祖级列表(与数据库一致)
+     */
+    private final String[] ancestors;
+
+    /**
+     * 升序排列的部门ID 与 positions 一起用于二分查找部门下标
+     */
+    private final long[] sortedIds;
+    private final int[] positions;
+
+    private SysDeptTreeSnapshot(long version, long[] ids, int[] ends, String[] ancestors) {
+        this.version = version;
+        this.ids = ids;
+        this.ends = ends;
+        this.ancestors = ancestors;
+        int size = ids.length;
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+        this.sortedIds = new long[size];
+        this.positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedIds[i] = ids[order[i]];
+            positions[i] = order[i];
+        }
+    }
+
+    /**
+     * 根据部门列表构建快照
+     * <p>
+     * 父部门不在列表中的部门作为顶级部门 同级部门保持列表顺序 无法从顶级部门到达的部门(异常数据)被忽略
+     *
+     * @param version 版本号
+     * @param depts   部门列表(需包含 deptId parentId ancestors)
+     * @return 部门树快照
+     */
+    public static SysDeptTreeSnapshot build(long version, List<SysDept> depts) {
+        int size = depts.size();
+        Map<Long, Integer> indexMap = new HashMap<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            indexMap.put(depts.get(i).getDeptId(), i);
+        }
+        // 以 CSR 形式记录每个部门的子部门
+        int[] parentIndex = new int[size];
+        int[] childCount = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            Integer parent = indexMap.get(depts.get(i).getParentId());
+            parentIndex[i] = parent == null || parent == i ? -1 : parent;
+            if (parentIndex[i] >= 0) {
+                childCount[parentIndex[i] + 1]++;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            childCount[i + 1] += childCount[i];
+        }
+        int[] children = new int[childCount[size]];
+        int[] fill = Arrays.copyOf(childCount, size);
+        for (int i = 0; i < size; i++) {
+            if (parentIndex[i] >= 0) {
+                children[fill[parentIndex[i]]++] = i;
+            }
+        }
+
+        // 迭代先序遍历 生成子树区间
+        long[] ids = new long[size];
+        int[] ends = new int[size];
+        String[] ancestors = new String[size];
+        int[] position = new int[size];
+        int[] stack = new int[size];
+        int[] cursor = new int[size];
+        int count = 0;
+        for (int root = 0; root < size; root++) {
+            if (parentIndex[root] >= 0) {
+                continue;
+            }
+            int top = 0;
+            stack[0] = root;
+            cursor[0] = childCount[root];
+            position[root] = visit(depts.get(root), count, ids, ancestors);
+            count++;
+            while (top >= 0) {
+                int node = stack[top];
+                if (cursor[top] < childCount[node + 1]) {
+                    int child = children[cursor[top]++];
+                    position[child] = visit(depts.get(child), count, ids, ancestors);
+                    count++;
+                    stack[++top] = child;
+                    cursor[top] = childCount[child];
+                } else {
+                    ends[position[node]] = count;
+                    top--;
+                }
+            }
+        }
+        if (count < size) {
+            ids = Arrays.copyOf(ids, count);
+            ends = Arrays.copyOf(ends, count);
+            ancestors = Arrays.copyOf(ancestors, count);
+        }
+        return new SysDeptTreeSnapshot(version, ids, ends, ancestors);
+    }
+
+    private static int visit(SysDept dept, int index, long[] ids, String[] ancestors) {
+        ids[index] = dept.getDeptId();
+        ancestors[index] = dept.getAncestors();
+        return index;
+    }
+
+    /**
+     * 获取构建时的版本号
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 部门数量
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * 获取部门的所有子孙部门ID(先序)
+     *
+     * @param deptId      部门ID
+     * @param includeSelf 是否包含自身
+     * @return 部门ID数组 部门不存在时返回空数组
+     */
+    public long[] getDescendants(long deptId, boolean includeSelf) {
+        int index = indexOf(deptId);
+        if (index < 0) {
+            return EMPTY;
+        }
+        return Arrays.copyOfRange(ids, includeSelf ? index : index + 1, ends[index]);
+    }
+
+    /**
+     * 获取子部门的祖级列表(即 {@code 祖级列表,部门ID})
+     *
+     * @param deptId 部门ID
+     * @return 祖级列表 部门不存在时返回 null
+     */
+    public String getChildAncestors(long deptId) {
+        int index = indexOf(deptId);
+        return index < 0 ? null : ancestors[index] + StringUtils.SEPARATOR + deptId;
+    }
+
+    private int indexOf(long deptId) {
+        int i = Arrays.binarySearch(sortedIds, deptId);
+        return i < 0 ? -1 : positions[i];
+    }
+
+}
@@ -1,10 +1,12 @@
 package org.dromara.system.mapper;
 
+import cn.hutool.core.util.ObjectUtil;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Param;
+import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.mybatis.annotation.DataColumn;
 import org.dromara.common.mybatis.annotation.DataPermission;
 import org.dromara.common.mybatis.core.mapper.BaseMapperPlus;
@@ -13,6 +15,7 @@ import org.dromara.system.domain.SysDept;
 import org.dromara.system.domain.vo.SysDeptVo;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 部门管理 数据层
@@ -63,7 +66,29 @@ public interface SysDeptMapper extends BaseMapperPlus<SysDept, SysDeptVo> {
     default List<SysDept> selectListByParentId(Long parentId) {
         return this.selectList(new LambdaQueryWrapper<SysDept>()
             .select(SysDept::getDeptId)
-            .apply(DataBaseHelper.findInSet(parentId, "ancestors")));
+            .and(this.buildChildrenCondition(parentId)));
+    }
+
+    /**
+     * 构建查询指定部门所有子部门的条件
+     * <p>
+     * 子部门的祖级列表以 {@code 父部门祖级列表,父部门ID} 为前缀 使用前缀匹配可走 (tenant_id, ancestors) 索引范围扫描
+     * 父部门不存在或祖级列表为空时回退到 find_in_set 方式
+     *
+     * @param parentId 父部门ID
+     * @return 查询条件
+     */
+    default Consumer<LambdaQueryWrapper<SysDept>> buildChildrenCondition(Long parentId) {
+        SysDept parent = this.selectOne(new LambdaQueryWrapper<SysDept>()
+            .select(SysDept::getDeptId, SysDept::getAncestors)
+            .eq(SysDept::getDeptId, parentId));
+        if (ObjectUtil.isNull(parent) || StringUtils.isBlank(parent.getAncestors())) {
+            String findInSet = DataBaseHelper.findInSet(parentId, "ancestors");
+            return wrapper -> wrapper.apply(findInSet);
+        }
+        String prefix = parent.getAncestors() + StringUtils.SEPARATOR + parentId;
+        return wrapper -> wrapper.eq(SysDept::getAncestors, prefix)
+            .or().likeRight(SysDept::getAncestors, prefix + StringUtils.SEPARATOR);
     }
 
     /**
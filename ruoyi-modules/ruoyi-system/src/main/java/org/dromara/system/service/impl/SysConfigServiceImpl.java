@@ -68,7 +68,7 @@ public class SysConfigServiceImpl implements ISysConfigService, ConfigService {
      * @param configKey 参数key
      * @return 参数键值
      */
-    @Cacheable(cacheNames = CacheNames.SYS_CONFIG, key = "#configKey")
+    @Cacheable(cacheNames = CacheNames.SYS_CONFIG, key = "#configKey", sync = true)
     @Override
     public String selectConfigByKey(String configKey) {
         SysConfig retConfig = baseMapper.selectOne(new LambdaQueryWrapper<SysConfig>()
@@ -6,22 +6,27 @@ import cn.hutool.core.util.ObjectUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import lombok.RequiredArgsConstructor;
 import org.dromara.common.core.constant.CacheNames;
+import org.dromara.common.core.constant.SystemConstants;
 import org.dromara.common.core.utils.StreamUtils;
-import org.dromara.system.domain.SysDept;
 import org.dromara.system.domain.SysRoleDept;
-import org.dromara.system.mapper.SysDeptMapper;
+import org.dromara.system.manager.SysDeptTreeManager;
+import org.dromara.system.manager.SysDeptTreeSnapshot;
 import org.dromara.system.mapper.SysRoleDeptMapper;
 import org.dromara.system.service.ISysDataScopeService;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * 数据权限 实现
  * <p>
  * 注意: 此Service内不允许调用标注`数据权限`注解的方法
  * 例如: deptMapper.selectList 此 selectList 方法标注了`数据权限`注解 会出现循环解析的问题
+ * <p>
+ * 部门数量超过 {@link #MAX_IN_LIST_SIZE} 时返回子查询 代替拼接大量字面量的 IN 列表
  *
  * @author Lion Li
  */
@@ -29,8 +34,13 @@ import java.util.List;
 @Service("sdss")
 public class SysDataScopeServiceImpl implements ISysDataScopeService {
 
+    /**
+     * IN 列表最大字面量数量
+     */
+    private static final int MAX_IN_LIST_SIZE = 500;
+
     private final SysRoleDeptMapper roleDeptMapper;
-    private final SysDeptMapper deptMapper;
+    private final SysDeptTreeManager deptTreeManager;
 
     /**
      * 获取角色自定义权限
@@ -38,7 +48,7 @@ public class SysDataScopeServiceImpl implements ISysDataScopeService {
      * @param roleId 角色Id
      * @return 部门Id组
      */
-    @Cacheable(cacheNames = CacheNames.SYS_ROLE_CUSTOM, key = "#roleId", condition = "#roleId != null")
+    @Cacheable(cacheNames = CacheNames.SYS_ROLE_CUSTOM, key = "#roleId", condition = "#roleId != null", sync = true)
     @Override
     public String getRoleCustom(Long roleId) {
         if (ObjectUtil.isNull(roleId)) {
@@ -48,6 +58,9 @@ public class SysDataScopeServiceImpl implements ISysDataScopeService {
             new LambdaQueryWrapper<SysRoleDept>()
                 .select(SysRoleDept::getDeptId)
                 .eq(SysRoleDept::getRoleId, roleId));
+        if (list.size() > MAX_IN_LIST_SIZE) {
+            return "select dept_id from sys_role_dept where role_id = " + roleId;
+        }
         if (CollUtil.isNotEmpty(list)) {
             return StreamUtils.join(list, rd -> Convert.toStr(rd.getDeptId()));
         }
@@ -56,23 +69,30 @@ public class SysDataScopeServiceImpl implements ISysDataScopeService {
 
     /**
      * 获取部门及以下权限
+     * <p>
+     * 部门树快照已在本地内存中(获取时比对版本号) 结果不再额外缓存
      *
      * @param deptId 部门Id
      * @return 部门Id组
      */
-    @Cacheable(cacheNames = CacheNames.SYS_DEPT_AND_CHILD, key = "#deptId", condition = "#deptId != null")
     @Override
     public String getDeptAndChild(Long deptId) {
         if (ObjectUtil.isNull(deptId)) {
             return "-1";
         }
-        List<SysDept> deptList = deptMapper.selectListByParentId(deptId);
-        List<Long> ids = StreamUtils.toList(deptList, SysDept::getDeptId);
-        ids.add(deptId);
-        if (CollUtil.isNotEmpty(ids)) {
-            return StreamUtils.join(ids, Convert::toStr);
+        SysDeptTreeSnapshot snapshot = deptTreeManager.getSnapshot();
+        long[] ids = snapshot.getDescendants(deptId, true);
+        if (ids.length == 0) {
+            // 部门不存在于部门树中(已删除) 仅包含自身
+            return Convert.toStr(deptId);
         }
-        return "-1";
+        if (ids.length > MAX_IN_LIST_SIZE) {
+            // 子部门的祖级列表均以 {祖级列表,部门ID} 为前缀 按前缀范围查询(走 ancestors 索引)
+            String childAncestors = snapshot.getChildAncestors(deptId);
+            return "select dept_id from sys_dept where del_flag = '" + SystemConstants.NORMAL + "' and (dept_id = " + deptId
+                + " or ancestors = '" + childAncestors + "' or ancestors like '" + childAncestors + ",%')";
+        }
+        return Arrays.stream(ids).mapToObj(Long::toString).collect(Collectors.joining(","));
     }
 
 }
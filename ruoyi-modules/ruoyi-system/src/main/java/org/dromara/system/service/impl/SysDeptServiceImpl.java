@@ -15,7 +15,6 @@ import org.dromara.common.core.domain.dto.DeptDTO;
 import org.dromara.common.core.exception.ServiceException;
 import org.dromara.common.core.service.DeptService;
 import org.dromara.common.core.utils.*;
-import org.dromara.common.mybatis.helper.DataBaseHelper;
 import org.dromara.common.redis.utils.CacheUtils;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.dromara.system.domain.SysDept;
@@ -23,19 +22,22 @@ import org.dromara.system.domain.SysRole;
 import org.dromara.system.domain.SysUser;
 import org.dromara.system.domain.bo.SysDeptBo;
 import org.dromara.system.domain.vo.SysDeptVo;
+import org.dromara.system.manager.SysDeptTreeManager;
 import org.dromara.system.mapper.SysDeptMapper;
 import org.dromara.system.mapper.SysRoleMapper;
 import org.dromara.system.mapper.SysUserMapper;
 import org.dromara.system.service.ISysDeptService;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 部门管理 服务实现
@@ -49,6 +51,7 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
     private final SysDeptMapper baseMapper;
     private final SysRoleMapper roleMapper;
     private final SysUserMapper userMapper;
+    private final SysDeptTreeManager deptTreeManager;
 
     /**
      * 查询部门管理数据
@@ -101,23 +104,13 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
         if (CollUtil.isEmpty(depts)) {
             return CollUtil.newArrayList();
         }
-        // 获取当前列表中每一个节点的parentId，然后在列表中查找是否有id与其parentId对应，若无对应，则表明此时节点列表中，该节点在当前列表中属于顶级节点
-        List<Tree<Long>> treeList = CollUtil.newArrayList();
-        for (SysDeptVo d : depts) {
-            Long parentId = d.getParentId();
-            SysDeptVo sysDeptVo = StreamUtils.findFirst(depts, it -> it.getDeptId().longValue() == parentId);
-            if (ObjectUtil.isNull(sysDeptVo)) {
-                List<Tree<Long>> trees = TreeBuildUtils.build(depts, parentId, (dept, tree) ->
-                    tree.setId(dept.getDeptId())
-                        .setParentId(dept.getParentId())
-                        .setName(dept.getDeptName())
-                        .setWeight(dept.getOrderNum())
-                        .putExtra("disabled", SystemConstants.DISABLE.equals(dept.getStatus())));
-                Tree<Long> tree = StreamUtils.findFirst(trees, it -> it.getId().longValue() == d.getDeptId());
-                treeList.add(tree);
-            }
-        }
-        return treeList;
+        // 父节点不在当前列表中的节点作为顶级节点 一次遍历构建
+        return TreeBuildUtils.buildMultiRoot(depts, SysDeptVo::getDeptId, SysDeptVo::getParentId, (dept, tree) ->
+            tree.setId(dept.getDeptId())
+                .setParentId(dept.getParentId())
+                .setName(dept.getDeptName())
+                .setWeight(dept.getOrderNum())
+                .putExtra("disabled", SystemConstants.DISABLE.equals(dept.getStatus())));
     }
 
     /**
@@ -138,7 +131,7 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
      * @param deptId 部门ID
      * @return 部门信息
      */
-    @Cacheable(cacheNames = CacheNames.SYS_DEPT, key = "#deptId")
+    @Cacheable(cacheNames = CacheNames.SYS_DEPT, key = "#deptId", sync = true)
     @Override
     public SysDeptVo selectDeptById(Long deptId) {
         SysDeptVo dept = baseMapper.selectVoById(deptId);
@@ -177,6 +170,45 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
         return String.join(StringUtils.SEPARATOR, list);
     }
 
+    /**
+     * 通过部门ID批量查询部门名称
+     *
+     * @param deptIds 部门ID列表
+     * @return 部门ID与部门名称的映射
+     */
+    @Override
+    public Map<Long, String> selectDeptNamesByIds(List<Long> deptIds) {
+        if (CollUtil.isEmpty(deptIds)) {
+            return new HashMap<>();
+        }
+        // 先批量读取 selectDeptById 的缓存 仅未命中的部分查询数据库并回写缓存
+        Map<Long, SysDeptVo> cached = CacheUtils.getAll(CacheNames.SYS_DEPT, deptIds);
+        Map<Long, String> map = new HashMap<>(deptIds.size());
+        cached.forEach((id, vo) -> map.put(id, vo.getDeptName()));
+        List<Long> misses = StreamUtils.filter(deptIds, id -> !cached.containsKey(id));
+        if (misses.isEmpty()) {
+            return map;
+        }
+        List<SysDeptVo> list = baseMapper.selectVoByIds(misses);
+        for (SysDeptVo vo : list) {
+            map.put(vo.getDeptId(), vo.getDeptName());
+        }
+        // 与 selectDeptById 一致 回写的缓存需包含上级部门名称
+        Map<Long, String> parentNames = new HashMap<>(map);
+        Set<Long> parentIds = StreamUtils.toSet(list, SysDeptVo::getParentId);
+        parentIds.removeIf(id -> id == null || parentNames.containsKey(id));
+        if (!parentIds.isEmpty()) {
+            parentNames.putAll(StreamUtils.toMap(baseMapper.selectList(new LambdaQueryWrapper<SysDept>()
+                    .select(SysDept::getDeptId, SysDept::getDeptName).in(SysDept::getDeptId, parentIds)),
+                SysDept::getDeptId, SysDept::getDeptName));
+        }
+        for (SysDeptVo vo : list) {
+            vo.setParentName(parentNames.get(vo.getParentId()));
+            CacheUtils.put(CacheNames.SYS_DEPT, vo.getDeptId(), vo);
+        }
+        return map;
+    }
+
     /**
      * 根据部门ID查询部门负责人
      *
@@ -212,7 +244,7 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
     public long selectNormalChildrenDeptById(Long deptId) {
         return baseMapper.selectCount(new LambdaQueryWrapper<SysDept>()
             .eq(SysDept::getStatus, SystemConstants.NORMAL)
-            .apply(DataBaseHelper.findInSet(deptId, "ancestors")));
+            .and(baseMapper.buildChildrenCondition(deptId)));
     }
 
     /**
@@ -278,7 +310,6 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
      * @param bo 部门信息
      * @return 结果
      */
-    @CacheEvict(cacheNames = CacheNames.SYS_DEPT_AND_CHILD, allEntries = true)
     @Override
     public int insertDept(SysDeptBo bo) {
         SysDept info = baseMapper.selectById(bo.getParentId());
@@ -288,7 +319,9 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
         }
         SysDept dept = MapstructUtils.convert(bo, SysDept.class);
         dept.setAncestors(info.getAncestors() + StringUtils.SEPARATOR + dept.getParentId());
-        return baseMapper.insert(dept);
+        int result = baseMapper.insert(dept);
+        deptTreeManager.invalidate();
+        return result;
     }
 
     /**
@@ -297,10 +330,7 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
      * @param bo 部门信息
      * @return 结果
      */
-    @Caching(evict = {
-        @CacheEvict(cacheNames = CacheNames.SYS_DEPT, key = "#bo.deptId"),
-        @CacheEvict(cacheNames = CacheNames.SYS_DEPT_AND_CHILD, allEntries = true)
-    })
+    @CacheEvict(cacheNames = CacheNames.SYS_DEPT, key = "#bo.deptId")
     @Override
     @Transactional(rollbackFor = Exception.class)
     public int updateDept(SysDeptBo bo) {
@@ -328,6 +358,7 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
             // 如果该部门是启用状态，则启用该部门的所有上级部门
             updateParentDeptStatusNormal(dept);
         }
+        deptTreeManager.invalidate();
         return result;
     }
 
@@ -353,7 +384,7 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
      */
     private void updateDeptChildren(Long deptId, String newAncestors, String oldAncestors) {
         List<SysDept> children = baseMapper.selectList(new LambdaQueryWrapper<SysDept>()
-            .apply(DataBaseHelper.findInSet(deptId, "ancestors")));
+            .and(baseMapper.buildChildrenCondition(deptId)));
         List<SysDept> list = new ArrayList<>();
         for (SysDept child : children) {
             SysDept dept = new SysDept();
@@ -374,13 +405,12 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
      * @param deptId 部门ID
      * @return 结果
      */
-    @Caching(evict = {
-        @CacheEvict(cacheNames = CacheNames.SYS_DEPT, key = "#deptId"),
-        @CacheEvict(cacheNames = CacheNames.SYS_DEPT_AND_CHILD, key = "#deptId")
-    })
+    @CacheEvict(cacheNames = CacheNames.SYS_DEPT, key = "#deptId")
     @Override
     public int deleteDeptById(Long deptId) {
-        return baseMapper.deleteById(deptId);
+        int result = baseMapper.deleteById(deptId);
+        deptTreeManager.invalidate();
+        return result;
     }
 
 }
@@ -5,6 +5,8 @@ import cn.hutool.http.useragent.UserAgent;
 import cn.hutool.http.useragent.UserAgentUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +15,8 @@ import org.dromara.common.core.utils.MapstructUtils;
 import org.dromara.common.core.utils.ServletUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.core.utils.ip.AddressUtils;
+import org.dromara.common.log.config.properties.LogWriterProperties;
+import org.dromara.common.log.core.BatchLogWriter;
 import org.dromara.common.log.event.LogininforEvent;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
@@ -47,6 +51,23 @@ public class SysLogininforServiceImpl implements ISysLogininforService {
 
     private final ISysClientService clientService;
 
+    private final LogWriterProperties logWriterProperties;
+
+    /**
+     * 登录日志批量写入器
+     */
+    private BatchLogWriter<SysLogininfor> logininforWriter;
+
+    @PostConstruct
+    public void init() {
+        logininforWriter = new BatchLogWriter<>("logininfor", SysLogininfor.class, logWriterProperties, baseMapper::insertBatch);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        logininforWriter.shutdown();
+    }
+
     /**
      * 记录登录信息
      *
@@ -117,6 +138,10 @@ public class SysLogininforServiceImpl implements ISysLogininforService {
             .like(StringUtils.isNotBlank(logininfor.getUserName()), SysLogininfor::getUserName, logininfor.getUserName())
             .between(params.get("beginTime") != null && params.get("endTime") != null,
                 SysLogininfor::getLoginTime, params.get("beginTime"), params.get("endTime"));
+        if (pageQuery.isSeek()) {
+            // 游标分页 按主键倒序 不使用 offset
+            return TableDataInfo.build(baseMapper.selectVoSeek(pageQuery, lqw));
+        }
         if (StringUtils.isBlank(pageQuery.getOrderByColumn())) {
             lqw.orderByDesc(SysLogininfor::getInfoId);
         }
@@ -125,7 +150,7 @@ public class SysLogininforServiceImpl implements ISysLogininforService {
     }
 
     /**
-     * 新增系统登录日志
+     * 新增系统登录日志 (进入缓冲队列 批量写入数据库)
      *
      * @param bo 访问日志对象
      */
@@ -133,7 +158,7 @@ public class SysLogininforServiceImpl implements ISysLogininforService {
     public void insertLogininfor(SysLogininforBo bo) {
         SysLogininfor logininfor = MapstructUtils.convert(bo, SysLogininfor.class);
         logininfor.setLoginTime(new Date());
-        baseMapper.insert(logininfor);
+        logininforWriter.write(logininfor);
     }
 
     /**
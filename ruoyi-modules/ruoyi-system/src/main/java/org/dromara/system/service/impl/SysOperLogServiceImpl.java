@@ -3,10 +3,14 @@ package org.dromara.system.service.impl;
 import cn.hutool.core.util.ArrayUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.dromara.common.core.utils.MapstructUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.core.utils.ip.AddressUtils;
+import org.dromara.common.log.config.properties.LogWriterProperties;
+import org.dromara.common.log.core.BatchLogWriter;
 import org.dromara.common.log.event.OperLogEvent;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
@@ -35,6 +39,23 @@ public class SysOperLogServiceImpl implements ISysOperLogService {
 
     private final SysOperLogMapper baseMapper;
 
+    private final LogWriterProperties logWriterProperties;
+
+    /**
+     * 操作日志批量写入器
+     */
+    private BatchLogWriter<SysOperLog> operLogWriter;
+
+    @PostConstruct
+    public void init() {
+        operLogWriter = new BatchLogWriter<>("oper_log", SysOperLog.class, logWriterProperties, baseMapper::insertBatch);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        operLogWriter.shutdown();
+    }
+
     /**
      * 操作日志记录
      *
@@ -52,6 +73,10 @@ public class SysOperLogServiceImpl implements ISysOperLogService {
     @Override
     public TableDataInfo<SysOperLogVo> selectPageOperLogList(SysOperLogBo operLog, PageQuery pageQuery) {
         LambdaQueryWrapper<SysOperLog> lqw = buildQueryWrapper(operLog);
+        if (pageQuery.isSeek()) {
+            // 游标分页 按主键倒序 不使用 offset
+            return TableDataInfo.build(baseMapper.selectVoSeek(pageQuery, lqw));
+        }
         if (StringUtils.isBlank(pageQuery.getOrderByColumn())) {
             lqw.orderByDesc(SysOperLog::getOperId);
         }
@@ -79,7 +104,7 @@ public class SysOperLogServiceImpl implements ISysOperLogService {
     }
 
     /**
-     * 新增操作日志
+     * 新增操作日志 (进入缓冲队列 批量写入数据库)
      *
      * @param bo 操作日志对象
      */
@@ -87,7 +112,7 @@ public class SysOperLogServiceImpl implements ISysOperLogService {
     public void insertOperlog(SysOperLogBo bo) {
         SysOperLog operLog = MapstructUtils.convert(bo, SysOperLog.class);
         operLog.setOperTime(new Date());
-        baseMapper.insert(operLog);
+        operLogWriter.write(operLog);
     }
 
     /**
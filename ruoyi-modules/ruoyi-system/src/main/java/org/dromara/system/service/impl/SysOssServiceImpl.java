@@ -1,7 +1,9 @@
 package org.dromara.system.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.IdUtil;
 import cn.hutool.core.util.ObjectUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
@@ -13,6 +15,7 @@ import org.dromara.common.core.domain.dto.OssDTO;
 import org.dromara.common.core.exception.ServiceException;
 import org.dromara.common.core.service.OssService;
 import org.dromara.common.core.utils.MapstructUtils;
+import org.dromara.common.core.utils.ServletUtils;
 import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.core.utils.StreamUtils;
 import org.dromara.common.core.utils.StringUtils;
@@ -23,6 +26,7 @@ import org.dromara.common.oss.core.OssClient;
 import org.dromara.common.oss.entity.UploadResult;
 import org.dromara.common.oss.enumd.AccessPolicyType;
 import org.dromara.common.oss.factory.OssFactory;
+import org.dromara.common.redis.utils.CacheUtils;
 import org.dromara.system.domain.SysOss;
 import org.dromara.system.domain.bo.SysOssBo;
 import org.dromara.system.domain.vo.SysOssVo;
@@ -30,15 +34,23 @@ import org.dromara.system.mapper.SysOssMapper;
 import org.dromara.system.service.ISysOssService;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -64,8 +76,7 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
     public TableDataInfo<SysOssVo> queryPageList(SysOssBo bo, PageQuery pageQuery) {
         LambdaQueryWrapper<SysOss> lqw = buildQueryWrapper(bo);
         Page<SysOssVo> result = baseMapper.selectVoPage(pageQuery.build(), lqw);
-        List<SysOssVo> filterResult = StreamUtils.toList(result.getRecords(), this::matchingUrl);
-        result.setRecords(filterResult);
+        result.setRecords(matchingUrls(result.getRecords()));
         return TableDataInfo.build(result);
     }
 
@@ -77,20 +88,7 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
      */
     @Override
     public List<SysOssVo> listByIds(Collection<Long> ossIds) {
-        List<SysOssVo> list = new ArrayList<>();
-        SysOssServiceImpl ossService = SpringUtils.getAopProxy(this);
-        for (Long id : ossIds) {
-            SysOssVo vo = ossService.getById(id);
-            if (ObjectUtil.isNotNull(vo)) {
-                try {
-                    list.add(this.matchingUrl(vo));
-                } catch (Exception ignored) {
-                    // 如果oss异常无法连接则将数据直接返回
-                    list.add(vo);
-                }
-            }
-        }
-        return list;
+        return matchingUrls(listVoByIds(ossIds));
     }
 
     /**
@@ -101,35 +99,55 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
      */
     @Override
     public String selectUrlByIds(String ossIds) {
-        List<String> list = new ArrayList<>();
-        SysOssServiceImpl ossService = SpringUtils.getAopProxy(this);
-        for (Long id : StringUtils.splitTo(ossIds, Convert::toLong)) {
-            SysOssVo vo = ossService.getById(id);
-            if (ObjectUtil.isNotNull(vo)) {
-                try {
-                    list.add(this.matchingUrl(vo).getUrl());
-                } catch (Exception ignored) {
-                    // 如果oss异常无法连接则将数据直接返回
-                    list.add(vo.getUrl());
-                }
-            }
+        List<SysOssVo> list = matchingUrls(listVoByIds(StringUtils.splitTo(ossIds, Convert::toLong)));
+        return StreamUtils.join(list, SysOssVo::getUrl);
+    }
+
+    /**
+     * 根据一组 ossIds 批量获取对应文件的 URL
+     *
+     * @param ossIds ossId 列表
+     * @return ossId 与文件 URL 的映射
+     */
+    @Override
+    public Map<Long, String> selectUrlsByIds(List<Long> ossIds) {
+        if (CollUtil.isEmpty(ossIds)) {
+            return new HashMap<>();
         }
-        return String.join(StringUtils.SEPARATOR, list);
+        List<SysOssVo> list = matchingUrls(listVoByIds(ossIds));
+        return StreamUtils.toMap(list, SysOssVo::getOssId, SysOssVo::getUrl);
     }
 
     @Override
     public List<OssDTO> selectByIds(String ossIds) {
-        List<OssDTO> list = new ArrayList<>();
-        for (Long id : StringUtils.splitTo(ossIds, Convert::toLong)) {
-            SysOssVo vo = SpringUtils.getAopProxy(this).getById(id);
+        List<SysOssVo> list = matchingUrls(listVoByIds(StringUtils.splitTo(ossIds, Convert::toLong)));
+        return BeanUtil.copyToList(list, OssDTO.class);
+    }
+
+    /**
+     * 批量获取 SysOssVo 先批量读取缓存 未命中的部分一次查询数据库并写入缓存
+     *
+     * @param ossIds 文件在数据库中的唯一标识集合
+     * @return 与 ossIds 顺序一致的 SysOssVo 列表 不存在的数据不包含在内
+     */
+    private List<SysOssVo> listVoByIds(Collection<Long> ossIds) {
+        if (CollUtil.isEmpty(ossIds)) {
+            return new ArrayList<>();
+        }
+        Map<Long, SysOssVo> cached = CacheUtils.getAll(CacheNames.SYS_OSS, ossIds);
+        List<Long> misses = StreamUtils.filter(ossIds, id -> !cached.containsKey(id));
+        Map<Long, SysOssVo> map = new HashMap<>(cached);
+        if (!misses.isEmpty()) {
+            for (SysOssVo vo : baseMapper.selectVoByIds(misses)) {
+                CacheUtils.put(CacheNames.SYS_OSS, vo.getOssId(), vo);
+                map.put(vo.getOssId(), vo);
+            }
+        }
+        List<SysOssVo> list = new ArrayList<>(ossIds.size());
+        for (Long id : ossIds) {
+            SysOssVo vo = map.get(id);
             if (ObjectUtil.isNotNull(vo)) {
-                try {
-                    vo.setUrl(this.matchingUrl(vo).getUrl());
-                    list.add(BeanUtil.toBean(vo, OssDTO.class));
-                } catch (Exception ignored) {
-                    // 如果oss异常无法连接则将数据直接返回
-                    list.add(BeanUtil.toBean(vo, OssDTO.class));
-                }
+                list.add(vo);
             }
         }
         return list;
@@ -164,7 +182,7 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
 
 
     /**
-     * 文件下载方法，支持一次性下载完整文件
+     * 文件下载方法，支持一次性下载完整文件，也支持 HTTP Range 分段下载(断点续传/媒体拖动播放)
      *
      * @param ossId    OSS对象ID
      * @param response HttpServletResponse对象，用于设置响应头和向客户端发送文件内容
@@ -177,12 +195,35 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
         }
         FileUtils.setAttachmentResponseHeader(response, sysOss.getOriginalName());
         response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE + "; charset=UTF-8");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
         OssClient storage = OssFactory.instance(sysOss.getService());
-        storage.download(sysOss.getFileName(), response.getOutputStream(), response::setContentLengthLong);
+        String rangeHeader = ServletUtils.getRequest().getHeader(HttpHeaders.RANGE);
+        if (StringUtils.isBlank(rangeHeader)) {
+            storage.download(sysOss.getFileName(), response.getOutputStream(), response::setContentLengthLong);
+            return;
+        }
+        // 只支持单个范围 多个范围时按第一个处理
+        long total = storage.getObjectSize(sysOss.getFileName());
+        long start;
+        long end;
+        try {
+            HttpRange range = HttpRange.parseRanges(rangeHeader).get(0);
+            start = range.getRangeStart(total);
+            end = range.getRangeEnd(total);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + total);
+            return;
+        }
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + total);
+        storage.download(sysOss.getFileName(), start, end - start + 1, response.getOutputStream(), response::setContentLengthLong);
     }
 
     /**
      * 上传 MultipartFile 到对象存储服务，并保存文件信息到数据库
+     * <p>
+     * 文件内容不整体读入内存 小文件直接流式上传 大文件将容器保存的临时文件移动到临时目录后并行分片上传
      *
      * @param file 要上传的 MultipartFile 对象
      * @return 上传成功后的 SysOssVo 对象，包含文件信息
@@ -195,7 +236,16 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
         OssClient storage = OssFactory.instance();
         UploadResult uploadResult;
         try {
-            uploadResult = storage.uploadSuffix(file.getBytes(), suffix, file.getContentType());
+            if (file.getSize() >= OssClient.PART_SIZE) {
+                // 同一文件系统内为重命名 不复制文件内容
+                Path tempFilePath = Paths.get(FileUtils.getTmpDirPath(), IdUtil.fastSimpleUUID() + suffix);
+                file.transferTo(tempFilePath);
+                uploadResult = storage.uploadSuffix(tempFilePath, suffix, file.getContentType());
+            } else {
+                try (InputStream inputStream = file.getInputStream()) {
+                    uploadResult = storage.uploadSuffix(inputStream, suffix, file.getSize(), file.getContentType());
+                }
+            }
         } catch (IOException e) {
             throw new ServiceException(e.getMessage());
         }
@@ -259,11 +309,50 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
      * @return oss 匹配Url的OSS对象
      */
     private SysOssVo matchingUrl(SysOssVo oss) {
-        OssClient storage = OssFactory.instance(oss.getService());
-        // 仅修改桶类型为 private 的URL，临时URL时长为120s
-        if (AccessPolicyType.PRIVATE == storage.getAccessPolicy()) {
-            oss.setUrl(storage.getPrivateUrl(oss.getFileName(), Duration.ofSeconds(120)));
+        return matchingUrls(List.of(oss)).get(0);
+    }
+
+    /**
+     * 桶类型为 private 的URL 批量修改为临时URL时长为120s
+     * <p>
+     * 按存储配置分组批量签名 已签名的链接在有效期内复用 返回副本 不修改缓存中的对象
+     *
+     * @param list OSS对象列表
+     * @return 匹配Url的OSS对象列表
+     */
+    private List<SysOssVo> matchingUrls(List<SysOssVo> list) {
+        if (CollUtil.isEmpty(list)) {
+            return list;
+        }
+        Map<String, List<SysOssVo>> groups = StreamUtils.groupByKey(list, SysOssVo::getService);
+        Map<SysOssVo, String> privateUrls = new IdentityHashMap<>();
+        groups.forEach((service, group) -> {
+            try {
+                OssClient storage = OssFactory.instance(service);
+                // 仅修改桶类型为 private 的URL，临时URL时长为120s
+                if (AccessPolicyType.PRIVATE == storage.getAccessPolicy()) {
+                    Map<String, String> urls = storage.getPrivateUrls(
+                        StreamUtils.toSet(group, SysOssVo::getFileName), Duration.ofSeconds(120));
+                    group.forEach(vo -> privateUrls.put(vo, urls.get(vo.getFileName())));
+                }
+            } catch (Exception ignored) {
+                // 如果oss异常无法连接则将数据直接返回
+            }
+        });
+        if (privateUrls.isEmpty()) {
+            return list;
+        }
+        List<SysOssVo> result = new ArrayList<>(list.size());
+        for (SysOssVo vo : list) {
+            String url = privateUrls.get(vo);
+            if (url == null) {
+                result.add(vo);
+                continue;
+            }
+            SysOssVo copy = BeanUtil.toBean(vo, SysOssVo.class);
+            copy.setUrl(url);
+            result.add(copy);
         }
-        return oss;
+        return result;
     }
 }
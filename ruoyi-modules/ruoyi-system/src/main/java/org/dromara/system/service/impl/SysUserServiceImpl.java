@@ -10,6 +10,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +22,7 @@ import org.dromara.common.core.service.UserService;
 import org.dromara.common.core.utils.*;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
+import org.dromara.common.redis.utils.CacheUtils;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.dromara.system.domain.*;
 import org.dromara.system.domain.bo.SysUserBo;
@@ -29,6 +31,7 @@ import org.dromara.system.domain.vo.SysRoleVo;
 import org.dromara.system.domain.vo.SysUserExportVo;
 import org.dromara.system.domain.vo.SysUserVo;
 import org.dromara.system.mapper.*;
+import org.dromara.system.service.ISysDataScopeService;
 import org.dromara.system.service.ISysUserService;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -36,6 +39,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -51,7 +55,7 @@ import java.util.Set;
 public class SysUserServiceImpl implements ISysUserService, UserService {
 
     private final SysUserMapper baseMapper;
-    private final SysDeptMapper deptMapper;
+    private final ISysDataScopeService dataScopeService;
     private final SysRoleMapper roleMapper;
     private final SysPostMapper postMapper;
     private final SysUserRoleMapper userRoleMapper;
@@ -84,12 +88,8 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
             .like(StringUtils.isNotBlank(user.getPhonenumber()), "u.phonenumber", user.getPhonenumber())
             .between(params.get("beginTime") != null && params.get("endTime") != null,
                 "u.create_time", params.get("beginTime"), params.get("endTime"))
-            .and(ObjectUtil.isNotNull(user.getDeptId()), w -> {
-                List<SysDept> deptList = deptMapper.selectListByParentId(user.getDeptId());
-                List<Long> ids = StreamUtils.toList(deptList, SysDept::getDeptId);
-                ids.add(user.getDeptId());
-                w.in("u.dept_id", ids);
-            }).orderByAsc("u.user_id");
+            .inSql(ObjectUtil.isNotNull(user.getDeptId()), "u.dept_id", dataScopeService.getDeptAndChild(user.getDeptId()))
+            .orderByAsc("u.user_id");
         if (StringUtils.isNotBlank(user.getExcludeUserIds())) {
             wrapper.notIn("u.user_id", StringUtils.splitTo(user.getExcludeUserIds(), Convert::toLong));
         }
@@ -597,6 +597,58 @@ public class SysUserServiceImpl implements ISysUserService, UserService {
         return String.join(StringUtils.SEPARATOR, list);
     }
 
+    /**
+     * 通过用户ID批量查询用户账户
+     *
+     * @param userIds 用户ID列表
+     * @return 用户ID与用户账户的映射
+     */
+    @Override
+    public Map<Long, String> selectUserNamesByIds(List<Long> userIds) {
+        if (CollUtil.isEmpty(userIds)) {
+            return new HashMap<>();
+        }
+        return selectCachedNamesByIds(CacheNames.SYS_USER_NAME, userIds, SysUser::getUserName);
+    }
+
+    /**
+     * 通过用户ID批量查询用户名称
+     *
+     * @param userIds 用户ID列表
+     * @return 用户ID与用户名称的映射
+     */
+    @Override
+    public Map<Long, String> selectNicknamesByIds(List<Long> userIds) {
+        if (CollUtil.isEmpty(userIds)) {
+            return new HashMap<>();
+        }
+        return selectCachedNamesByIds(CacheNames.SYS_NICKNAME, userIds, SysUser::getNickName);
+    }
+
+    /**
+     * 批量查询用户字段 先批量读取单条查询的缓存 仅未命中的部分查询数据库并回写缓存
+     *
+     * @param cacheNames 单条查询使用的缓存组名称
+     * @param userIds    用户ID列表
+     * @param column     查询的字段
+     * @return 用户ID与字段值的映射
+     */
+    private Map<Long, String> selectCachedNamesByIds(String cacheNames, List<Long> userIds, SFunction<SysUser, String> column) {
+        Map<Long, String> map = new HashMap<>(CacheUtils.getAll(cacheNames, userIds));
+        List<Long> misses = StreamUtils.filter(userIds, id -> !map.containsKey(id));
+        if (misses.isEmpty()) {
+            return map;
+        }
+        List<SysUser> list = baseMapper.selectList(new LambdaQueryWrapper<SysUser>()
+            .select(SysUser::getUserId, column).in(SysUser::getUserId, misses));
+        for (SysUser user : list) {
+            String name = column.apply(user);
+            map.put(user.getUserId(), name);
+            CacheUtils.put(cacheNames, user.getUserId(), name);
+        }
+        return map;
+    }
+
     /**
      * 通过用户ID查询用户手机号
      *
@@ -180,6 +180,8 @@ create table sys_dept (
 );
 
 alter table sys_dept add constraint pk_sys_dept primary key (dept_id);
+-- 祖级列表前缀查询子部门
+create index idx_sys_dept_ancestors on sys_dept (tenant_id, ancestors);
 
 comment on table  sys_dept              is '部门表';
 comment on column sys_dept.dept_id      is '部门id';
@@ -203,6 +203,9 @@ comment on column sys_dept.create_time  is '创建时间';
 comment on column sys_dept.update_by    is '更新者';
 comment on column sys_dept.update_time  is '更新时间';
 
+-- 祖级列表前缀查询子部门
+create index idx_sys_dept_ancestors on sys_dept (tenant_id, ancestors varchar_pattern_ops);
+
 -- ----------------------------
 -- 初始化-部门表数据
 -- ----------------------------
@@ -113,7 +113,8 @@ create table sys_dept (
     create_time       datetime                                   comment '创建时间',
     update_by         bigint(20)      default null               comment '更新者',
     update_time       datetime                                   comment '更新时间',
-    primary key (dept_id)
+    primary key (dept_id),
+    key idx_sys_dept_ancestors (tenant_id, ancestors)
 ) engine=innodb comment = '部门表';
 
 -- ----------------------------
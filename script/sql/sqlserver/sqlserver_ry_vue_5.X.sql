@@ -1058,6 +1058,10 @@ EXEC sys.sp_addextendedproperty
     'TABLE', N'sys_dept'
 GO
 
+-- 祖级列表前缀查询子部门
+CREATE NONCLUSTERED INDEX idx_sys_dept_ancestors ON sys_dept (tenant_id, ancestors)
+GO
+
 INSERT sys_dept VALUES (100, N'000000', 0, N'0', N'XXX科技', NULL, 0, NULL, N'15888888888', N'xxx@qq.com', N'0', N'0', 103, 1, getdate(), NULL, NULL)
 GO
 INSERT sys_dept VALUES (101, N'000000', 100, N'0,100', N'深圳总公司', NULL, 1, NULL, N'15888888888', N'xxx@qq.com', N'0', N'0', 103, 1, getdate(), NULL, NULL)
@@ -0,0 +1,2 @@
+-- 祖级列表前缀查询子部门
+create index idx_sys_dept_ancestors on sys_dept (tenant_id, ancestors varchar_pattern_ops);
@@ -0,0 +1,3 @@
+-- 祖级列表前缀查询子部门
+CREATE NONCLUSTERED INDEX idx_sys_dept_ancestors ON sys_dept (tenant_id, ancestors)
+GO
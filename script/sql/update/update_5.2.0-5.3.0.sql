@@ -0,0 +1,2 @@
+-- 祖级列表前缀查询子部门
+ALTER TABLE sys_dept ADD INDEX idx_sys_dept_ancestors (tenant_id, ancestors);